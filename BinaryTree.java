@@ -1,7 +1,35 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
 // Classe que representa um nó da árvore binária
 class Node {
     int data; // valor armazenado no nó
     Node left, right; // ponteiros para os filhos esquerdo e direito
+    // Propriedades da subárvore, mantidas a cada alteração no caminho até a raiz
+    int height; // altura (0 para uma folha)
+    int size = 1; // quantidade de nós
+    int oneChild; // nós com exatamente um filho
+    boolean perfect = true; // todos os níveis cheios
+    boolean complete = true; // níveis cheios, exceto o último, preenchido da esquerda para a direita
 
     // Construtor: inicializa o nó com o valor recebido
     public Node(int data) {
@@ -14,189 +42,1098 @@ class Node {
     public boolean isLeaf() {
         return left == null && right == null;
     }
+
+    // Recalcula as propriedades a partir das dos filhos (que precisam estar atualizadas)
+    void update() {
+        int leftHeight = left != null ? left.height : -1;
+        int rightHeight = right != null ? right.height : -1;
+        boolean leftPerfect = left == null || left.perfect;
+        boolean rightPerfect = right == null || right.perfect;
+        height = 1 + Math.max(leftHeight, rightHeight);
+        size = 1 + (left != null ? left.size : 0) + (right != null ? right.size : 0);
+        oneChild = (left != null ? left.oneChild : 0) + (right != null ? right.oneChild : 0)
+                + ((left == null) != (right == null) ? 1 : 0);
+        perfect = leftPerfect && rightPerfect && leftHeight == rightHeight;
+        // Completa: esquerda perfeita e direita completa da mesma altura, ou esquerda completa
+        // um nível mais alta que a direita perfeita
+        complete = leftHeight == rightHeight
+                ? leftPerfect && (right == null || right.complete)
+                : leftHeight == rightHeight + 1 && left.complete && rightPerfect;
+    }
 }
 
 // Classe principal da árvore binária
 public class BinaryTree {
     private Node root; // raiz da árvore
+    private TreeMetrics metrics; // null enquanto as métricas estiverem desativadas
+    private Node[] path = new Node[64]; // ancestrais do ponto alterado, reaproveitado entre operações
+
+    // Guarda o nó na posição "depth" do caminho, aumentando o vetor quando preciso
+    private void remember(int depth, Node node) {
+        if (depth == path.length) path = Arrays.copyOf(path, depth * 2);
+        path[depth] = node;
+    }
+
+    // Atualiza as propriedades de path[count-1] até path[0], de baixo para cima. Quando a altura e
+    // as marcas de um nó não mudam, as dos ancestrais também não: dali para cima basta somar a
+    // diferença de tamanho e de nós com um filho, sem ler as subárvores irmãs
+    private void refreshPath(int count) {
+        for (int i = count - 1; i >= 0; i--) {
+            Node node = path[i];
+            int height = node.height, size = node.size, oneChild = node.oneChild;
+            boolean perfect = node.perfect, complete = node.complete;
+            node.update();
+            if (height == node.height && perfect == node.perfect && complete == node.complete) {
+                int sizeDelta = node.size - size, oneChildDelta = node.oneChild - oneChild;
+                for (int j = i - 1; j >= 0; j--) {
+                    path[j].size += sizeDelta;
+                    path[j].oneChild += oneChildDelta;
+                }
+                return;
+            }
+        }
+    }
+
+    // ---------- Métricas ----------
+
+    // Passa a medir inserções, buscas e remoções; devolve as métricas para consulta
+    public TreeMetrics enableMetrics() {
+        if (metrics == null) metrics = new TreeMetrics("BinaryTree");
+        return metrics;
+    }
+
+    // Para de medir (as métricas já coletadas continuam com quem as recebeu)
+    public void disableMetrics() {
+        metrics = null;
+    }
+
+    // Métricas ativas (ou null)
+    public TreeMetrics getMetrics() {
+        return metrics;
+    }
 
     // Insere um valor na árvore
     public void insert(int value) {
-        root = insertRec(root, value);
+        TreeMetrics m = metrics;
+        if (m == null) {
+            insertNode(value);
+            return;
+        }
+        TreeMetrics.TreeOperationEvent event = m.beginEvent();
+        long start = System.nanoTime();
+        int depth = insertNode(value);
+        m.record(TreeMetrics.Operation.INSERT, start, event, value, depth, depth, true);
     }
 
-    // Função recursiva para inserir um valor respeitando a ordenação binária
-    private Node insertRec(Node root, int value) {
-        if (root == null) return new Node(value);
-        if (value < root.data) root.left = insertRec(root.left, value);
-        else root.right = insertRec(root.right, value);
-        return root;
+    // Pendura um novo nó e devolve a sua profundidade (igual aos nós comparados na descida)
+    private int insertNode(int value) {
+        Node node = new Node(value);
+        if (root == null) {
+            root = node;
+            return 0;
+        }
+        // Desce iterativamente respeitando a ordenação binária até achar a posição livre
+        Node current = root;
+        int depth = 1;
+        while (true) {
+            remember(depth - 1, current);
+            if (value < current.data) {
+                if (current.left == null) {
+                    current.left = node;
+                    refreshPath(depth);
+                    return depth;
+                }
+                current = current.left;
+            } else {
+                if (current.right == null) {
+                    current.right = node;
+                    refreshPath(depth);
+                    return depth;
+                }
+                current = current.right;
+            }
+            depth++;
+        }
+    }
+
+    // Substitui o conteúdo da árvore por uma árvore completa montada em O(n) a partir de valores já ordenados
+    public void bulkLoad(int[] sorted) {
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i - 1] > sorted[i]) throw new IllegalArgumentException("Os valores precisam estar em ordem crescente");
+        }
+        root = buildComplete(sorted, 0, sorted.length);
+        if (metrics != null) metrics.recordAllocations(sorted.length);
+    }
+
+    // Carrega valores em qualquer ordem: ordena em paralelo só quando a entrada não estiver ordenada
+    public void bulkLoad(IntStream values) {
+        int[] array = values.toArray();
+        for (int i = 1; i < array.length; i++) {
+            if (array[i - 1] > array[i]) {
+                Arrays.parallelSort(array);
+                break;
+            }
+        }
+        root = buildComplete(array, 0, array.length);
+        if (metrics != null) metrics.recordAllocations(array.length);
+    }
+
+    // Monta a subárvore com os valores sorted[from..from+count) no formato de uma árvore completa:
+    // a raiz é escolhida de forma que o último nível fique preenchido da esquerda para a direita.
+    // Havendo repetidos, a raiz recua para a primeira cópia do valor escolhido, porque insert,
+    // search e remove procuram as cópias iguais só à direita; sem repetidos a árvore sai completa
+    private Node buildComplete(int[] sorted, int from, int count) {
+        Node top = null, last = null;
+        ArrayDeque<Node> chain = null; // nós montados pelo laço, atualizados de baixo para cima no fim
+        while (count > 0) {
+            int middle = from + leftSubtreeSize(count);
+            int at = lowerBound(sorted, from, middle, sorted[middle]);
+            int leftCount = at - from, rightCount = count - leftCount - 1;
+            Node node = new Node(sorted[at]);
+            node.left = buildComplete(sorted, from, leftCount);
+            if (top == null) top = node;
+            else last.right = node;
+            if (rightCount <= 2 * leftCount + 1) {
+                // Divisão equilibrada (sempre é, sem repetidos): a direita também vai para a recursão
+                node.right = buildComplete(sorted, at + 1, rightCount);
+                node.update();
+                break;
+            }
+            // Muitas cópias empurradas para a direita: ela segue no laço para a pilha não crescer com a cadeia
+            if (chain == null) chain = new ArrayDeque<>();
+            chain.push(node);
+            last = node;
+            from = at + 1;
+            count = rightCount;
+        }
+        if (chain != null) while (!chain.isEmpty()) chain.pop().update();
+        return top;
+    }
+
+    // Quantidade de nós na subárvore esquerda de uma árvore completa com n nós
+    private static int leftSubtreeSize(int n) {
+        if (n <= 1) return 0;
+        int height = 31 - Integer.numberOfLeadingZeros(n); // níveis abaixo da raiz
+        int lastLevelCapacity = 1 << (height - 1); // vagas da subárvore esquerda no último nível
+        int lastLevelNodes = n - ((1 << height) - 1); // nós da árvore inteira no último nível
+        return (lastLevelCapacity - 1) + Math.min(lastLevelNodes, lastLevelCapacity);
+    }
+
+    // ---------- Operações em lote ----------
+
+    // Insere todos os valores do lote numa única passada: o lote ordenado é dividido em cada nó
+    // (menores para a esquerda, maiores ou iguais para a direita) e cada faixa que chega a uma
+    // posição vazia vira de uma vez uma subárvore completa
+    public void insertAll(int[] values) {
+        int[] batch = values.clone();
+        Arrays.sort(batch);
+        if (batch.length == 0) return;
+        if (metrics != null) metrics.recordAllocations(batch.length); // cada valor do lote vira um nó
+        if (root == null) {
+            root = buildComplete(batch, 0, batch.length);
+            return;
+        }
+        ArrayDeque<BatchFrame> stack = new ArrayDeque<>();
+        ArrayDeque<Node> touched = new ArrayDeque<>(); // nós visitados, cada um depois do seu pai
+        stack.push(new BatchFrame(root, null, false, 0, batch.length));
+        while (!stack.isEmpty()) {
+            BatchFrame frame = stack.pop();
+            Node node = frame.node;
+            touched.push(node);
+            int split = lowerBound(batch, frame.from, frame.to, node.data);
+            if (frame.from < split) {
+                if (node.left == null) node.left = buildComplete(batch, frame.from, split - frame.from);
+                else stack.push(new BatchFrame(node.left, node, true, frame.from, split));
+            }
+            if (split < frame.to) {
+                if (node.right == null) node.right = buildComplete(batch, split, frame.to - split);
+                else stack.push(new BatchFrame(node.right, node, false, split, frame.to));
+            }
+        }
+        // Desempilhar inverte a ordem de visita: os filhos são atualizados antes dos pais
+        while (!touched.isEmpty()) touched.pop().update();
+    }
+
+    // Remove uma ocorrência de cada valor do lote numa única passada. As subárvores são
+    // tratadas antes do próprio nó (pós-ordem), assim cada nó é visitado no máximo uma vez
+    public void removeAll(int[] values) {
+        int[] batch = values.clone();
+        Arrays.sort(batch);
+        if (batch.length == 0 || root == null) return;
+        ArrayDeque<BatchFrame> stack = new ArrayDeque<>();
+        stack.push(new BatchFrame(root, null, false, 0, batch.length));
+        while (!stack.isEmpty()) {
+            BatchFrame frame = stack.peek();
+            Node node = frame.node;
+            if (!frame.expanded) {
+                frame.expanded = true;
+                int lo = lowerBound(batch, frame.from, frame.to, node.data);
+                int hi = lowerBound(batch, lo, frame.to, node.data + 1L);
+                frame.hit = lo < hi;
+                // Se o nó sai, as cópias restantes do mesmo valor seguem para a direita, onde ficam os repetidos
+                int rightFrom = frame.hit ? lo + 1 : lo;
+                if (node.left != null && frame.from < lo) stack.push(new BatchFrame(node.left, node, true, frame.from, lo));
+                if (node.right != null && rightFrom < frame.to) stack.push(new BatchFrame(node.right, node, false, rightFrom, frame.to));
+                continue;
+            }
+            stack.pop();
+            if (!frame.hit) {
+                node.update(); // as subárvores (já tratadas) podem ter mudado
+                continue;
+            }
+            Node replacement = detach(node);
+            if (replacement == node) node.update(); // os filhos já mudaram no lote: o corte de refreshPath não vale aqui
+            if (frame.parent == null) root = replacement;
+            else if (frame.leftChild) frame.parent.left = replacement;
+            else frame.parent.right = replacement;
+        }
+    }
+
+    // Um nó pendente da passada em lote e a faixa [from, to) do lote que pertence à sua subárvore
+    private static final class BatchFrame {
+        final Node node, parent;
+        final boolean leftChild;
+        final int from, to;
+        boolean expanded, hit;
+
+        BatchFrame(Node node, Node parent, boolean leftChild, int from, int to) {
+            this.node = node;
+            this.parent = parent;
+            this.leftChild = leftChild;
+            this.from = from;
+            this.to = to;
+        }
+    }
+
+    // Primeira posição de sorted[from..to) com valor >= key
+    private static int lowerBound(int[] sorted, int from, int to, long key) {
+        while (from < to) {
+            int middle = (from + to) >>> 1;
+            if (sorted[middle] < key) from = middle + 1;
+            else to = middle;
+        }
+        return from;
+    }
+
+    // Tira o nó da árvore e devolve a subárvore que deve ocupar o seu lugar
+    private Node detach(Node node) {
+        if (node.left == null) return node.right;
+        if (node.right == null) return node.left;
+        // Dois filhos: o nó recebe o valor do sucessor, que é desligado da subárvore direita
+        int count = 0;
+        remember(count++, node);
+        Node successorParent = node;
+        Node successor = node.right;
+        while (successor.left != null) {
+            successorParent = successor;
+            remember(count++, successorParent);
+            successor = successor.left;
+        }
+        node.data = successor.data;
+        if (successorParent == node) successorParent.right = successor.right;
+        else successorParent.left = successor.right;
+        refreshPath(count);
+        return node;
+    }
+
+    // ---------- Serialização ----------
+    // Formato: "ABT1", quantidade de nós (varint), 2 bits por nó em pré-ordem indicando se há filho
+    // esquerdo e direito, e os valores em ordem: o primeiro em zigzag e os demais como diferença
+    // para o anterior (nunca negativa), todos em varint. A leitura refaz exatamente a mesma forma
+    private static final int FORMAT_MAGIC = 0x31544241; // "ABT1" em little-endian
+    private static final int IO_BUFFER = 1 << 16;
+    private static final Node RIGHT_PENDING = new Node(0); // marca provisória usada só durante readFrom
+
+    // Grava a árvore no canal
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        // Estrutura: o percurso em ordem com pilha empilha os nós exatamente na pré-ordem, então os
+        // bits são anotados ao empilhar (4 nós por byte) e a quantidade de nós sai do mesmo passo
+        byte[] shape = new byte[64];
+        int n = 0;
+        ArrayDeque<Node> stack = new ArrayDeque<>();
+        Node current = root;
+        while (current != null || !stack.isEmpty()) {
+            while (current != null) {
+                if (n >>> 2 == shape.length) shape = Arrays.copyOf(shape, shape.length * 2);
+                int bits = (current.left != null ? 2 : 0) | (current.right != null ? 1 : 0);
+                shape[n >>> 2] |= (byte) (bits << ((n & 3) * 2));
+                n++;
+                stack.push(current);
+                current = current.left;
+            }
+            current = stack.pop().right;
+        }
+
+        ChannelOutput out = new ChannelOutput(channel);
+        out.writeInt(FORMAT_MAGIC);
+        out.writeVarLong(n);
+        out.writeBytes(shape, (n + 3) >>> 2);
+        // Valores em ordem, já crescentes
+        PrimitiveIterator.OfInt values = inorderIterator();
+        long previous = 0;
+        for (int i = 0; i < n; i++) {
+            long value = values.nextInt();
+            out.writeVarLong(i == 0 ? (value << 1) ^ (value >> 63) : value - previous);
+            previous = value;
+        }
+        out.flush();
+    }
+
+    // Lê uma árvore gravada por writeTo: um único percurso em ordem guiado pelos bits cria os nós
+    // (na pré-ordem) e atribui os valores (em ordem), sem nenhuma descida de inserção
+    public static BinaryTree readFrom(ReadableByteChannel channel) throws IOException {
+        ChannelInput in = new ChannelInput(channel);
+        if (in.readInt() != FORMAT_MAGIC) throw new IOException("Formato de árvore desconhecido");
+        long count = in.readVarLong();
+        if (count < 0 || count > Integer.MAX_VALUE - 3) throw new IOException("Quantidade de nós inválida: " + count);
+        int n = (int) count;
+        BinaryTree tree = new BinaryTree();
+        if (n == 0) return tree;
+        byte[] shape = new byte[(n + 3) >>> 2];
+        in.readBytes(shape);
+
+        ArrayDeque<Node> stack = new ArrayDeque<>(); // nós cuja subárvore esquerda está sendo montada
+        Node current = tree.root = new Node(0);
+        int created = 1, consumed = 0;
+        long value = 0;
+        boolean first = true;
+        while (true) {
+            // Desce pelos filhos esquerdos; o filho direito pendente fica marcado com RIGHT_PENDING
+            while (true) {
+                if (consumed == n) throw new IOException("Estrutura inconsistente com a quantidade de nós");
+                int bits = shape[consumed >>> 2] >>> ((consumed & 3) * 2) & 3;
+                consumed++;
+                if ((bits & 1) != 0) current.right = RIGHT_PENDING;
+                if ((bits & 2) == 0) break;
+                stack.push(current);
+                current = current.left = new Node(0);
+                created++;
+            }
+            // Sem filho esquerdo: o nó recebe o próximo valor; sobe até achar um filho direito pendente
+            while (true) {
+                long encoded = in.readVarLong();
+                // Diferenças são sempre >= 0: um varint de 2^63 ou mais (negativo no long) é corrupção
+                if (!first && encoded < 0) throw new IOException("Valor fora do intervalo de int");
+                value = first ? (encoded >>> 1) ^ -(encoded & 1) : value + encoded;
+                first = false;
+                if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) throw new IOException("Valor fora do intervalo de int");
+                current.data = (int) value;
+                if (current.right == RIGHT_PENDING) {
+                    current = current.right = new Node(0);
+                    created++;
+                    break;
+                }
+                if (stack.isEmpty()) {
+                    if (created != n) throw new IOException("Estrutura inconsistente com a quantidade de nós");
+                    updateAll(tree.root);
+                    return tree;
+                }
+                current = stack.pop();
+            }
+        }
+    }
+
+    // Escrita com buffer sobre um canal
+    private static final class ChannelOutput {
+        private final WritableByteChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER).order(ByteOrder.LITTLE_ENDIAN);
+
+        ChannelOutput(WritableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        void writeByte(int b) throws IOException {
+            if (!buffer.hasRemaining()) flush();
+            buffer.put((byte) b);
+        }
+
+        void writeInt(int v) throws IOException {
+            if (buffer.remaining() < 4) flush();
+            buffer.putInt(v);
+        }
+
+        void writeBytes(byte[] bytes, int length) throws IOException {
+            for (int offset = 0; offset < length; ) {
+                if (!buffer.hasRemaining()) flush();
+                int chunk = Math.min(buffer.remaining(), length - offset);
+                buffer.put(bytes, offset, chunk);
+                offset += chunk;
+            }
+        }
+
+        // 7 bits por byte, com o bit alto indicando que há continuação
+        void writeVarLong(long v) throws IOException {
+            if (buffer.remaining() < 10) flush();
+            while ((v & ~0x7FL) != 0) {
+                buffer.put((byte) (v & 0x7F | 0x80));
+                v >>>= 7;
+            }
+            buffer.put((byte) v);
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) channel.write(buffer);
+            buffer.clear();
+        }
+    }
+
+    // Leitura com buffer sobre um canal
+    private static final class ChannelInput {
+        private final ReadableByteChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER).order(ByteOrder.LITTLE_ENDIAN);
+
+        ChannelInput(ReadableByteChannel channel) {
+            this.channel = channel;
+            buffer.limit(0);
+        }
+
+        // Garante pelo menos "bytes" disponíveis, ou todos os que restam no canal
+        private void fill(int bytes) throws IOException {
+            if (buffer.remaining() >= bytes) return;
+            buffer.compact();
+            while (buffer.position() < bytes) {
+                if (channel.read(buffer) < 0) break; // o canal acabou
+            }
+            buffer.flip();
+        }
+
+        int readByte() throws IOException {
+            fill(1);
+            if (!buffer.hasRemaining()) throw new EOFException("Fim inesperado dos dados da árvore");
+            return buffer.get() & 0xFF;
+        }
+
+        int readInt() throws IOException {
+            fill(4);
+            if (buffer.remaining() < 4) throw new EOFException("Fim inesperado dos dados da árvore");
+            return buffer.getInt();
+        }
+
+        void readBytes(byte[] bytes) throws IOException {
+            for (int offset = 0; offset < bytes.length; ) {
+                fill(1);
+                if (!buffer.hasRemaining()) throw new EOFException("Fim inesperado dos dados da árvore");
+                int chunk = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.get(bytes, offset, chunk);
+                offset += chunk;
+            }
+        }
+
+        long readVarLong() throws IOException {
+            fill(10);
+            long v = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if (!buffer.hasRemaining()) throw new EOFException("Fim inesperado dos dados da árvore");
+                int b = buffer.get();
+                v |= (long) (b & 0x7F) << shift;
+                if (b >= 0) return v;
+            }
+            throw new IOException("Varint longo demais");
+        }
     }
 
     // Remove um valor da árvore
     public void remove(int value) {
-        root = removeRec(root, value);
+        TreeMetrics m = metrics;
+        if (m == null) {
+            removeNode(value);
+            return;
+        }
+        TreeMetrics.TreeOperationEvent event = m.beginEvent();
+        long start = System.nanoTime();
+        int depth = removeNode(value);
+        boolean hit = depth >= 0;
+        if (!hit) depth = ~depth;
+        m.record(TreeMetrics.Operation.REMOVE, start, event, value, hit ? depth + 1 : depth, depth, hit);
     }
 
-    // Função recursiva para remover um nó
-    private Node removeRec(Node root, int value) {
-        if (root == null) return null;
-        if (value < root.data) root.left = removeRec(root.left, value);
-        else if (value > root.data) root.right = removeRec(root.right, value);
-        else {
-            // Caso 1: nó com um ou nenhum filho
-            if (root.left == null) return root.right;
-            else if (root.right == null) return root.left;
-            // Caso 2: nó com dois filhos - substitui pelo sucessor
-            root.data = minValue(root.right);
-            root.right = removeRec(root.right, root.data);
+    // Retira o nó do valor e devolve a profundidade em que ele estava; se o valor não existir,
+    // devolve ~profundidade alcançada (sempre negativo)
+    private int removeNode(int value) {
+        Node parent = null;
+        Node current = root;
+        int depth = 0;
+        while (current != null && current.data != value) {
+            remember(depth, current);
+            parent = current;
+            current = value < current.data ? current.left : current.right;
+            depth++;
         }
-        return root;
-    }
+        if (current == null) return ~depth;
+        int count = depth; // ancestrais do nó que será desligado
 
-    // Retorna o menor valor da subárvore (usado na remoção)
-    private int minValue(Node root) {
-        int min = root.data;
-        while (root.left != null) {
-            min = root.left.data;
-            root = root.left;
+        // Caso 2: nó com dois filhos - copia o sucessor e passa a remover o sucessor
+        if (current.left != null && current.right != null) {
+            remember(count++, current);
+            Node successorParent = current;
+            Node successor = current.right;
+            while (successor.left != null) {
+                successorParent = successor;
+                remember(count++, successorParent);
+                successor = successor.left;
+            }
+            current.data = successor.data;
+            parent = successorParent;
+            current = successor;
         }
-        return min;
+
+        // Caso 1: nó com um ou nenhum filho - o filho ocupa o lugar do nó
+        Node child = current.left != null ? current.left : current.right;
+        if (parent == null) root = child;
+        else if (parent.left == current) parent.left = child;
+        else parent.right = child;
+        refreshPath(count);
+        return depth;
     }
 
     // Impressão em ordem (esquerda, raiz, direita)
     public void inorder() {
-        inorderRec(root);
+        print(inorderIterator());
+    }
+
+    // Impressão pré-ordem (raiz, esquerda, direita)
+    public void preorder() {
+        print(preorderIterator());
+    }
+
+    // Impressão pós-ordem (esquerda, direita, raiz)
+    public void postorder() {
+        print(postorderIterator());
+    }
+
+    private static void print(PrimitiveIterator.OfInt values) {
+        while (values.hasNext()) System.out.print(values.nextInt() + " ");
         System.out.println();
     }
 
-    private void inorderRec(Node root) {
-        if (root != null) {
-            inorderRec(root.left);
-            System.out.print(root.data + " ");
-            inorderRec(root.right);
+    // ---------- Percursos preguiçosos: cada valor só é calculado quando pedido ----------
+
+    // Valores em ordem crescente
+    public PrimitiveIterator.OfInt inorderIterator() {
+        return new InorderIterator(root, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    public PrimitiveIterator.OfInt preorderIterator() {
+        return new PreorderIterator(root);
+    }
+
+    public PrimitiveIterator.OfInt postorderIterator() {
+        return new PostorderIterator(root);
+    }
+
+    // Valores nível a nível, da esquerda para a direita
+    public PrimitiveIterator.OfInt levelOrderIterator() {
+        return new LevelOrderIterator(root);
+    }
+
+    // Fluxo com os valores em ordem crescente (permite filter, limit, sum etc.); com .parallel()
+    // o percurso é dividido entre as threads por subárvores
+    public IntStream stream() {
+        return StreamSupport.intStream(new TreeSpliterator(root), false);
+    }
+
+    // Valores do intervalo fechado [lo, hi] em ordem crescente: desce direto até lo e para
+    // assim que passa de hi, sem visitar o resto da árvore
+    public IntStream range(int lo, int hi) {
+        return sortedStream(new InorderIterator(root, lo, hi));
+    }
+
+    private static IntStream sortedStream(PrimitiveIterator.OfInt values) {
+        int characteristics = Spliterator.ORDERED | Spliterator.SORTED | Spliterator.NONNULL;
+        return StreamSupport.intStream(Spliterators.spliteratorUnknownSize(values, characteristics), false);
+    }
+
+    // Percurso em ordem limitado a [lo, hi]; a pilha guarda apenas o caminho pendente (O(h))
+    private static final class InorderIterator implements PrimitiveIterator.OfInt {
+        private final ArrayDeque<Node> stack = new ArrayDeque<>();
+        private final int hi;
+
+        InorderIterator(Node root, int lo, int hi) {
+            this.hi = hi;
+            // Empilha só os nós >= lo no caminho até lo; os menores e suas subárvores esquerdas são pulados
+            Node node = root;
+            while (node != null) {
+                if (node.data >= lo) {
+                    stack.push(node);
+                    node = node.left;
+                } else {
+                    node = node.right;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty() && stack.peek().data <= hi;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) throw new NoSuchElementException();
+            Node node = stack.pop();
+            for (Node next = node.right; next != null; next = next.left) stack.push(next);
+            return node.data;
         }
     }
 
-    // Impressão pré-ordem (raiz, esquerda, direita)
-    public void preorder() {
-        preorderRec(root);
-        System.out.println();
+    // Percurso em ordem que pode ser dividido por subárvores. A pilha segue a mesma ideia do
+    // InorderIterator: cada nó empilhado representa "o próprio nó e depois a subárvore direita".
+    // trySplit entrega tudo menos a base da pilha (a parte inicial da ordem) e fica só com a base,
+    // que é o nó mais alto pendente com sua subárvore direita
+    private static final class TreeSpliterator implements Spliterator.OfInt {
+        private ArrayDeque<Node> stack = new ArrayDeque<>();
+        private Node head; // nó isolado a emitir antes da pilha (sem a subárvore direita)
+        private long remaining; // valores ainda não emitidos, exato graças ao tamanho de cada subárvore
+
+        TreeSpliterator(Node root) {
+            for (Node node = root; node != null; node = node.left) stack.push(node);
+            remaining = root == null ? 0 : root.size;
+        }
+
+        private TreeSpliterator(Node head, ArrayDeque<Node> stack, long remaining) {
+            this.head = head;
+            this.stack = stack;
+            this.remaining = remaining;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (head != null) {
+                action.accept(head.data);
+                head = null;
+                remaining--;
+                return true;
+            }
+            if (stack.isEmpty()) return false;
+            Node node = stack.pop();
+            for (Node next = node.right; next != null; next = next.left) stack.push(next);
+            remaining--;
+            action.accept(node.data);
+            return true;
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            Node bottom;
+            ArrayDeque<Node> prefix;
+            Node prefixHead = head;
+            if (stack.size() >= 2) {
+                bottom = stack.pollLast();
+                prefix = stack;
+            } else if (stack.size() == 1 && head == null && stack.peek().right != null) {
+                // Um único nó X pendente: X e a parte esquerda da subárvore direita vão para o prefixo
+                Node single = stack.pop();
+                prefix = new ArrayDeque<>();
+                for (Node next = single.right; next != null; next = next.left) prefix.push(next);
+                bottom = prefix.pollLast();
+                prefixHead = single;
+            } else {
+                return null;
+            }
+            stack = new ArrayDeque<>();
+            stack.push(bottom);
+            head = null;
+            // Fica com "bottom" e a sua subárvore direita; o resto vai para o prefixo
+            long suffix = 1 + (bottom.right != null ? bottom.right.size : 0);
+            long prefixSize = remaining - suffix;
+            remaining = suffix;
+            return new TreeSpliterator(prefixHead, prefix, prefixSize);
+        }
+
+        @Override
+        public long estimateSize() {
+            return remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SORTED | Spliterator.NONNULL | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+
+        @Override
+        public Comparator<? super Integer> getComparator() {
+            return null; // ordem natural
+        }
     }
 
-    private void preorderRec(Node root) {
-        if (root != null) {
-            System.out.print(root.data + " ");
-            preorderRec(root.left);
-            preorderRec(root.right);
+    private static final class PreorderIterator implements PrimitiveIterator.OfInt {
+        private final ArrayDeque<Node> stack = new ArrayDeque<>();
+
+        PreorderIterator(Node root) {
+            if (root != null) stack.push(root);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty();
+        }
+
+        @Override
+        public int nextInt() {
+            if (stack.isEmpty()) throw new NoSuchElementException();
+            Node node = stack.pop();
+            if (node.right != null) stack.push(node.right);
+            if (node.left != null) stack.push(node.left);
+            return node.data;
         }
     }
 
-    // Impressão pós-ordem (esquerda, direita, raiz)
-    public void postorder() {
-        postorderRec(root);
-        System.out.println();
+    private static final class PostorderIterator implements PrimitiveIterator.OfInt {
+        private final ArrayDeque<Node> stack = new ArrayDeque<>();
+        private Node lastVisited;
+
+        PostorderIterator(Node root) {
+            pushLeftPath(root);
+        }
+
+        private void pushLeftPath(Node node) {
+            for (; node != null; node = node.left) stack.push(node);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty();
+        }
+
+        @Override
+        public int nextInt() {
+            if (stack.isEmpty()) throw new NoSuchElementException();
+            // Só visita o nó depois que a subárvore direita já foi percorrida
+            while (stack.peek().right != null && stack.peek().right != lastVisited) {
+                pushLeftPath(stack.peek().right);
+            }
+            lastVisited = stack.pop();
+            return lastVisited.data;
+        }
     }
 
-    private void postorderRec(Node root) {
-        if (root != null) {
-            postorderRec(root.left);
-            postorderRec(root.right);
-            System.out.print(root.data + " ");
+    private static final class LevelOrderIterator implements PrimitiveIterator.OfInt {
+        private final ArrayDeque<Node> queue = new ArrayDeque<>();
+
+        LevelOrderIterator(Node root) {
+            if (root != null) queue.add(root);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !queue.isEmpty();
+        }
+
+        @Override
+        public int nextInt() {
+            if (queue.isEmpty()) throw new NoSuchElementException();
+            Node node = queue.poll();
+            if (node.left != null) queue.add(node.left);
+            if (node.right != null) queue.add(node.right);
+            return node.data;
         }
     }
 
-    // Calcula a altura da árvore (profundidade máxima)
+    // Altura da árvore (profundidade máxima), mantida pelos nós: O(1)
     public int getHeight() {
-        return getHeightRec(root);
+        return root == null ? -1 : root.height;
     }
 
-    private int getHeightRec(Node node) {
-        if (node == null) return -1;
-        return 1 + Math.max(getHeightRec(node.left), getHeightRec(node.right));
+    // Quantidade de nós, mantida pelos nós: O(1)
+    public int size() {
+        return root == null ? 0 : root.size;
     }
 
-    // Retorna o nível (profundidade) de um nó com valor específico
-    public int getNodeLevel(int value) {
-        return getNodeLevelRec(root, value, 0);
+    // Altura de uma subárvore, percorrendo nível a nível
+    private static int heightOf(Node root) {
+        if (root == null) return -1;
+        ArrayDeque<Node> queue = new ArrayDeque<>();
+        queue.add(root);
+        int height = -1;
+        while (!queue.isEmpty()) {
+            for (int i = queue.size(); i > 0; i--) {
+                Node node = queue.poll();
+                if (node.left != null) queue.add(node.left);
+                if (node.right != null) queue.add(node.right);
+            }
+            height++;
+        }
+        return height;
     }
 
-    private int getNodeLevelRec(Node node, int value, int level) {
-        if (node == null) return -1;
-        if (node.data == value) return level;
-        int downlevel = getNodeLevelRec(node.left, value, level + 1);
-        if (downlevel != -1) return downlevel;
-        return getNodeLevelRec(node.right, value, level + 1);
+    // Retorna o nível (profundidade) de um nó com valor específico
+    public int getNodeLevel(int value) {
+        long found = lookup(value);
+        return found < 0 ? -1 : (int) (found >>> 2);
     }
 
     // Retorna o grau de um nó (quantidade de filhos)
     public int getDegree(int value) {
-        Node node = searchNode(root, value);
-        if (node == null) return -1;
-        int degree = 0;
-        if (node.left != null) degree++;
-        if (node.right != null) degree++;
-        return degree;
+        long found = lookup(value);
+        return found < 0 ? -1 : (int) (found & 3);
+    }
+
+    // Desce uma única vez pela ordenação (O(h)) e devolve nível e grau do nó encontrado
+    // empacotados num long: o nível nos bits altos e o grau nos 2 bits baixos (-1 se não existir)
+    private long lookup(int value) {
+        Node node = root;
+        long level = 0;
+        while (node != null) {
+            if (node.data == value) {
+                int degree = (node.left != null ? 1 : 0) + (node.right != null ? 1 : 0);
+                return level << 2 | degree;
+            }
+            node = value < node.data ? node.left : node.right;
+            level++;
+        }
+        return -1;
     }
 
     // Busca um nó com o valor especificado
     private Node searchNode(Node root, int value) {
-        if (root == null || root.data == value) return root;
-        if (value < root.data) return searchNode(root.left, value);
-        return searchNode(root.right, value);
+        Node node = root;
+        while (node != null && node.data != value) {
+            node = value < node.data ? node.left : node.right;
+        }
+        return node;
     }
 
-    // Verifica se a árvore é estritamente binária
+    // Verifica se a árvore é estritamente binária: nenhum nó com um filho só (O(1))
     public boolean isStrictlyBinary() {
-        return isStrictlyBinaryRec(root);
+        return root == null || root.oneChild == 0;
     }
 
-    private boolean isStrictlyBinaryRec(Node node) {
-        if (node == null) return true;
-        if ((node.left == null && node.right != null) || (node.left != null && node.right == null))
-            return false;
-        return isStrictlyBinaryRec(node.left) && isStrictlyBinaryRec(node.right);
+    // Percorre a subárvore com pilha explícita procurando algum nó com apenas um filho
+    private static boolean isStrictlyBinary(Node root) {
+        if (root == null) return true;
+        ArrayDeque<Node> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            if ((node.left == null) != (node.right == null)) return false;
+            if (node.left != null) {
+                stack.push(node.left);
+                stack.push(node.right);
+            }
+        }
+        return true;
     }
 
-    // Verifica se a árvore é completa
+    // Verifica se a árvore é completa, pela propriedade mantida na raiz (O(1))
     public boolean isComplete() {
-        int totalNodes = countNodes(root);
-        return isCompleteRec(root, 0, totalNodes);
+        return root == null || root.complete;
     }
 
-    private boolean isCompleteRec(Node root, int index, int totalNodes) {
+    // Completude por percurso: na ordem por níveis, nenhum nó pode aparecer depois de uma posição vazia
+    private boolean isCompleteWalk() {
         if (root == null) return true;
-        if (index >= totalNodes) return false;
-        return isCompleteRec(root.left, 2 * index + 1, totalNodes) &&
-               isCompleteRec(root.right, 2 * index + 2, totalNodes);
+        ArrayDeque<Node> queue = new ArrayDeque<>();
+        queue.add(root);
+        boolean gapSeen = false;
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            if (node.left == null) gapSeen = true;
+            else if (gapSeen) return false;
+            else queue.add(node.left);
+            if (node.right == null) gapSeen = true;
+            else if (gapSeen) return false;
+            else queue.add(node.right);
+        }
+        return true;
+    }
+
+    // Verifica se a árvore é cheia (todos os nós têm 0 ou 2 filhos)
+    public boolean isFull() {
+        return isStrictlyBinary();
     }
 
-    // Conta o número total de nós da árvore
-    private int countNodes(Node node) {
-        if (node == null) return 0;
-        return 1 + countNodes(node.left) + countNodes(node.right);
+    // Recalcula as propriedades de todos os nós da subárvore em pós-ordem (filhos antes dos pais)
+    private static void updateAll(Node root) {
+        ArrayDeque<Node> stack = new ArrayDeque<>();
+        Node current = root;
+        Node lastVisited = null;
+        while (current != null || !stack.isEmpty()) {
+            while (current != null) {
+                stack.push(current);
+                current = current.left;
+            }
+            Node top = stack.peek();
+            if (top.right != null && top.right != lastVisited) {
+                current = top.right;
+            } else {
+                top.update();
+                lastVisited = stack.pop();
+            }
+        }
     }
 
-    // Verifica se a árvore é cheia (todos os nós têm 0 ou 2 filhos e a árvore é completa)
-    public boolean isFull() {
-        return isFullRec(root);
+    // Confere as propriedades mantidas incrementalmente: cada nó é recalculado a partir dos filhos
+    // (em pós-ordem) e as respostas O(1) são comparadas com os percursos completos.
+    // Lança IllegalStateException na primeira divergência
+    public void verifyStructure() {
+        ArrayDeque<Node> stack = new ArrayDeque<>();
+        Node current = root;
+        Node lastVisited = null;
+        while (current != null || !stack.isEmpty()) {
+            while (current != null) {
+                stack.push(current);
+                current = current.left;
+            }
+            Node top = stack.peek();
+            if (top.right != null && top.right != lastVisited) {
+                current = top.right;
+                continue;
+            }
+            int height = top.height, size = top.size, oneChild = top.oneChild;
+            boolean perfect = top.perfect, complete = top.complete;
+            top.update();
+            if (height != top.height || size != top.size || oneChild != top.oneChild
+                    || perfect != top.perfect || complete != top.complete) {
+                throw new IllegalStateException("Propriedades desatualizadas no nó " + top.data);
+            }
+            lastVisited = stack.pop();
+        }
+        if (getHeight() != heightOf(root)) throw new IllegalStateException("Altura divergente");
+        if (size() != sizeOf(root)) throw new IllegalStateException("Quantidade de nós divergente");
+        if (isStrictlyBinary() != isStrictlyBinary(root)) throw new IllegalStateException("Estritamente binária divergente");
+        if (isComplete() != isCompleteWalk()) throw new IllegalStateException("Completude divergente");
+    }
+
+    // ---------- Verificações estruturais em paralelo (ForkJoin) ----------
+
+    // Abaixo desta profundidade cada subárvore é processada sequencialmente na própria thread
+    private static final int SEQUENTIAL_DEPTH =
+            32 - Integer.numberOfLeadingZeros(ForkJoinPool.getCommonPoolParallelism()) + 3;
+
+    public int parallelSize() {
+        return (int) StructureTask.run(StructureTask.SIZE, root, 0);
+    }
+
+    public int parallelHeight() {
+        return (int) StructureTask.run(StructureTask.HEIGHT, root, 0);
+    }
+
+    public boolean parallelIsStrictlyBinary() {
+        return StructureTask.run(StructureTask.STRICTLY_BINARY, root, 0) == 1;
     }
 
-    private boolean isFullRec(Node node) {
-        if (node == null) return true;
-        if ((node.left == null && node.right == null)) return true;
-        if (node.left != null && node.right != null)
-            return isFullRec(node.left) && isFullRec(node.right);
-        return false;
+    public boolean parallelIsFull() {
+        return parallelIsStrictlyBinary();
+    }
+
+    // Completa quando todo nó tem índice de heap (raiz 0, filhos 2i+1 e 2i+2) menor que o total de
+    // nós, que já é mantido na raiz: só o teste dos índices percorre a árvore
+    public boolean parallelIsComplete() {
+        return StructureTask.run(StructureTask.COMPLETE, root, size()) == 1;
+    }
+
+    // Tarefa que divide a árvore pelas subárvores esquerda e direita até SEQUENTIAL_DEPTH
+    private static final class StructureTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+        static final int SIZE = 0, HEIGHT = 1, STRICTLY_BINARY = 2, COMPLETE = 3;
+
+        private final int kind;
+        private final Node node;
+        private final int depth;
+        private final long index; // índice de heap do nó (usado só por COMPLETE)
+        private final long total; // quantidade total de nós (usado só por COMPLETE)
+
+        StructureTask(int kind, Node node, int depth, long index, long total) {
+            this.kind = kind;
+            this.node = node;
+            this.depth = depth;
+            this.index = index;
+            this.total = total;
+        }
+
+        static long run(int kind, Node root, long total) {
+            StructureTask task = new StructureTask(kind, root, 0, 0, total);
+            if (ForkJoinPool.getCommonPoolParallelism() <= 1) return task.compute();
+            return ForkJoinPool.commonPool().invoke(task);
+        }
+
+        @Override
+        protected Long compute() {
+            if (node == null) return kind == SIZE ? 0L : kind == HEIGHT ? -1L : 1L;
+            if (depth >= SEQUENTIAL_DEPTH) return sequential();
+            if (kind == STRICTLY_BINARY && (node.left == null) != (node.right == null)) return 0L;
+            if (kind == COMPLETE && index >= total) return 0L;
+
+            StructureTask left = new StructureTask(kind, node.left, depth + 1, 2 * index + 1, total);
+            left.fork();
+            long right = new StructureTask(kind, node.right, depth + 1, 2 * index + 2, total).compute();
+            long leftResult = left.join();
+            switch (kind) {
+                case SIZE: return 1 + leftResult + right;
+                case HEIGHT: return 1 + Math.max(leftResult, right);
+                default: return leftResult & right;
+            }
+        }
+
+        private long sequential() {
+            switch (kind) {
+                case SIZE: return sizeOf(node);
+                case HEIGHT: return heightOf(node);
+                case STRICTLY_BINARY: return isStrictlyBinary(node) ? 1 : 0;
+                default: return indicesBelow(node, index, total) ? 1 : 0;
+            }
+        }
+    }
+
+    // Quantidade de nós de uma subárvore, com pilha explícita
+    private static int sizeOf(Node root) {
+        if (root == null) return 0;
+        ArrayDeque<Node> stack = new ArrayDeque<>();
+        stack.push(root);
+        int count = 0;
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            count++;
+            if (node.left != null) stack.push(node.left);
+            if (node.right != null) stack.push(node.right);
+        }
+        return count;
+    }
+
+    // Verifica se todos os índices de heap da subárvore ficam abaixo do total de nós
+    private static boolean indicesBelow(Node root, long rootIndex, long total) {
+        ArrayDeque<Node> nodes = new ArrayDeque<>();
+        long[] indices = new long[64];
+        nodes.push(root);
+        indices[0] = rootIndex;
+        while (!nodes.isEmpty()) {
+            Node node = nodes.pop();
+            long index = indices[nodes.size()];
+            // Para antes de calcular 2i+2: como i < total <= 2^31, o índice nunca estoura o long
+            if (index >= total) return false;
+            if (nodes.size() + 2 > indices.length) indices = Arrays.copyOf(indices, indices.length * 2);
+            if (node.right != null) {
+                indices[nodes.size()] = 2 * index + 2;
+                nodes.push(node.right);
+            }
+            if (node.left != null) {
+                indices[nodes.size()] = 2 * index + 1;
+                nodes.push(node.left);
+            }
+        }
+        return true;
     }
 
     // Verifica se um valor existe na árvore
     public boolean search(int value) {
-        return searchNode(root, value) != null;
+        TreeMetrics m = metrics;
+        if (m == null) return searchNode(root, value) != null;
+        TreeMetrics.TreeOperationEvent event = m.beginEvent();
+        long start = System.nanoTime();
+        Node node = root;
+        int depth = 0;
+        while (node != null && node.data != value) {
+            node = value < node.data ? node.left : node.right;
+            depth++;
+        }
+        boolean hit = node != null;
+        m.record(TreeMetrics.Operation.SEARCH, start, event, value, hit ? depth + 1 : depth, depth, hit);
+        return hit;
     }
 
     // Função principal com exemplos de uso da árvore
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         BinaryTree tree = new BinaryTree();
 
         // Inserção de elementos
@@ -233,6 +1170,48 @@ public class BinaryTree {
         tree.remove(20);
         tree.remove(30);
         tree.inorder();
+
+        // Carga em lote a partir de valores ordenados, o pior caso para insert()
+        BinaryTree loaded = new BinaryTree();
+        loaded.bulkLoad(IntStream.rangeClosed(1, 1000000));
+        System.out.println("Carga em lote de 1000000 valores ordenados:");
+        System.out.println("Altura da árvore: " + loaded.getHeight());
+        System.out.println("A árvore é completa? " + loaded.isComplete());
+        System.out.println("Soma dos valores entre 1000 e 2000: " + loaded.range(1000, 2000).sum());
+        System.out.println("Cinco primeiros valores pares: "
+                + Arrays.toString(loaded.stream().filter(v -> v % 2 == 0).limit(5).toArray()));
+
+        // Lotes: uma passada pela árvore para todos os valores
+        int[] batch = new int[100000];
+        for (int i = 0; i < batch.length; i++) batch[i] = i * 10;
+        loaded.removeAll(batch);
+        System.out.println("Após remover um lote de " + batch.length + " valores: " + loaded.parallelSize() + " nós");
+        loaded.insertAll(batch);
+        System.out.println("Após reinserir o lote: " + loaded.parallelSize() + " nós");
+        loaded.verifyStructure(); // lança exceção se alguma propriedade mantida estiver errada
+        System.out.println("Propriedades mantidas conferidas: " + loaded.size() + " nós, altura " + loaded.getHeight());
+
+        // As mesmas consultas divididas entre os núcleos
+        System.out.println("Soma em paralelo: " + loaded.stream().parallel().asLongStream().sum());
+        System.out.println("Tamanho e altura em paralelo: " + loaded.parallelSize() + " / " + loaded.parallelHeight());
+        System.out.println("Completa em paralelo? " + loaded.parallelIsComplete()
+                + " | Cheia em paralelo? " + loaded.parallelIsFull());
+
+        // Serialização: a cópia é refeita com a mesma forma, sem nenhuma inserção
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        loaded.writeTo(Channels.newChannel(bytes));
+        BinaryTree copy = readFrom(Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())));
+        System.out.println("Serializada em " + bytes.size() + " bytes; cópia com " + copy.parallelSize()
+                + " nós e altura " + copy.getHeight());
+
+        // Métricas ativadas só nesta árvore: inserções aleatórias, buscas e remoções medidas
+        BinaryTree measured = new BinaryTree();
+        TreeMetrics metrics = measured.enableMetrics();
+        java.util.Random rand = new java.util.Random(42);
+        for (int i = 0; i < 200000; i++) measured.insert(rand.nextInt(1000000));
+        for (int i = 0; i < 200000; i++) measured.search(rand.nextInt(1000000));
+        for (int i = 0; i < 50000; i++) measured.remove(rand.nextInt(1000000));
+        System.out.println(metrics);
     }
 }
     
\ No newline at end of file
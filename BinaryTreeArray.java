@@ -0,0 +1,309 @@
+import java.util.Arrays;
+import java.util.Random;
+
+// Árvore binária de busca guardada em vetores paralelos de int: nenhum objeto é criado por nó
+public class BinaryTreeArray {
+    private static final int NIL = -1; // índice que representa a ausência de nó
+
+    private int[] keys; // valor armazenado em cada posição
+    private int[] left; // índice do filho esquerdo (ou NIL)
+    private int[] right; // índice do filho direito (ou NIL); nas posições livres aponta a próxima livre
+    private int root = NIL; // índice da raiz
+    private int freeHead = NIL; // início da lista de posições liberadas pelas remoções
+    private int used; // posições já ocupadas alguma vez (o restante do vetor nunca foi usado)
+    private int size; // quantidade de nós na árvore
+
+    public BinaryTreeArray() {
+        this(16);
+    }
+
+    // Permite reservar espaço de antemão para evitar cópias dos vetores durante a carga
+    public BinaryTreeArray(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+        keys = new int[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+    }
+
+    // Quantidade de nós na árvore
+    public int size() {
+        return size;
+    }
+
+    // Quantidade de posições reservadas nos vetores (cada uma ocupa 12 bytes)
+    public int capacity() {
+        return keys.length;
+    }
+
+    // Reaproveita uma posição livre ou usa a próxima posição nunca ocupada
+    private int allocate(int value) {
+        int slot;
+        if (freeHead != NIL) {
+            slot = freeHead;
+            freeHead = right[slot];
+        } else {
+            if (used == keys.length) grow();
+            slot = used++;
+        }
+        keys[slot] = value;
+        left[slot] = NIL;
+        right[slot] = NIL;
+        size++;
+        return slot;
+    }
+
+    // Devolve a posição para a lista de livres
+    private void release(int slot) {
+        left[slot] = NIL;
+        right[slot] = freeHead;
+        freeHead = slot;
+        size--;
+    }
+
+    // Dobra a capacidade dos três vetores
+    private void grow() {
+        int capacity = keys.length * 2;
+        keys = Arrays.copyOf(keys, capacity);
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+    }
+
+    // Insere um valor na árvore (valores repetidos seguem para a direita)
+    public void insert(int value) {
+        int slot = allocate(value);
+        if (root == NIL) {
+            root = slot;
+            return;
+        }
+        int current = root;
+        while (true) {
+            if (value < keys[current]) {
+                if (left[current] == NIL) {
+                    left[current] = slot;
+                    return;
+                }
+                current = left[current];
+            } else {
+                if (right[current] == NIL) {
+                    right[current] = slot;
+                    return;
+                }
+                current = right[current];
+            }
+        }
+    }
+
+    // Remove um valor da árvore
+    public void remove(int value) {
+        int parent = NIL;
+        int current = root;
+        while (current != NIL && keys[current] != value) {
+            parent = current;
+            current = value < keys[current] ? left[current] : right[current];
+        }
+        if (current == NIL) return;
+
+        // Caso 2: nó com dois filhos - copia o sucessor e passa a remover o sucessor
+        if (left[current] != NIL && right[current] != NIL) {
+            int successorParent = current;
+            int successor = right[current];
+            while (left[successor] != NIL) {
+                successorParent = successor;
+                successor = left[successor];
+            }
+            keys[current] = keys[successor];
+            parent = successorParent;
+            current = successor;
+        }
+
+        // Caso 1: nó com um ou nenhum filho - o filho ocupa o lugar do nó
+        int child = left[current] != NIL ? left[current] : right[current];
+        if (parent == NIL) root = child;
+        else if (left[parent] == current) left[parent] = child;
+        else right[parent] = child;
+        release(current);
+    }
+
+    // Busca a posição do nó com o valor especificado
+    private int searchSlot(int value) {
+        int current = root;
+        while (current != NIL && keys[current] != value) {
+            current = value < keys[current] ? left[current] : right[current];
+        }
+        return current;
+    }
+
+    // Verifica se um valor existe na árvore
+    public boolean search(int value) {
+        return searchSlot(value) != NIL;
+    }
+
+    // Retorna o nível (profundidade) de um nó com valor específico
+    public int getNodeLevel(int value) {
+        int current = root;
+        int level = 0;
+        while (current != NIL) {
+            if (keys[current] == value) return level;
+            current = value < keys[current] ? left[current] : right[current];
+            level++;
+        }
+        return -1;
+    }
+
+    // Retorna o grau de um nó (quantidade de filhos)
+    public int getDegree(int value) {
+        int slot = searchSlot(value);
+        if (slot == NIL) return -1;
+        int degree = 0;
+        if (left[slot] != NIL) degree++;
+        if (right[slot] != NIL) degree++;
+        return degree;
+    }
+
+    // Impressão em ordem (esquerda, raiz, direita), com pilha de índices
+    public void inorder() {
+        int[] stack = new int[Math.max(size, 1)];
+        int top = 0;
+        int current = root;
+        while (current != NIL || top > 0) {
+            while (current != NIL) {
+                stack[top++] = current;
+                current = left[current];
+            }
+            current = stack[--top];
+            System.out.print(keys[current] + " ");
+            current = right[current];
+        }
+        System.out.println();
+    }
+
+    // Impressão pré-ordem (raiz, esquerda, direita)
+    public void preorder() {
+        int[] stack = new int[Math.max(size, 1)];
+        int top = 0;
+        if (root != NIL) stack[top++] = root;
+        while (top > 0) {
+            int current = stack[--top];
+            System.out.print(keys[current] + " ");
+            if (right[current] != NIL) stack[top++] = right[current];
+            if (left[current] != NIL) stack[top++] = left[current];
+        }
+        System.out.println();
+    }
+
+    // Impressão pós-ordem (esquerda, direita, raiz)
+    public void postorder() {
+        int[] stack = new int[Math.max(size, 1)];
+        int top = 0;
+        int current = root;
+        int lastVisited = NIL;
+        while (current != NIL || top > 0) {
+            while (current != NIL) {
+                stack[top++] = current;
+                current = left[current];
+            }
+            int peek = stack[top - 1];
+            if (right[peek] != NIL && right[peek] != lastVisited) {
+                current = right[peek];
+            } else {
+                System.out.print(keys[peek] + " ");
+                lastVisited = stack[--top];
+            }
+        }
+        System.out.println();
+    }
+
+    // Calcula a altura da árvore percorrendo nível a nível (cada nó entra uma única vez na fila)
+    public int getHeight() {
+        if (root == NIL) return -1;
+        int[] queue = new int[size];
+        int head = 0, tail = 0;
+        queue[tail++] = root;
+        int height = -1;
+        while (head < tail) {
+            int levelEnd = tail;
+            while (head < levelEnd) {
+                int current = queue[head++];
+                if (left[current] != NIL) queue[tail++] = left[current];
+                if (right[current] != NIL) queue[tail++] = right[current];
+            }
+            height++;
+        }
+        return height;
+    }
+
+    // Verifica se a árvore é estritamente binária
+    public boolean isStrictlyBinary() {
+        int[] stack = new int[Math.max(size, 1)];
+        int top = 0;
+        if (root != NIL) stack[top++] = root;
+        while (top > 0) {
+            int current = stack[--top];
+            if ((left[current] == NIL) != (right[current] == NIL)) return false;
+            if (left[current] != NIL) {
+                stack[top++] = left[current];
+                stack[top++] = right[current];
+            }
+        }
+        return true;
+    }
+
+    // Verifica se a árvore é completa: na ordem por níveis, nenhum nó pode aparecer depois de uma posição vazia
+    public boolean isComplete() {
+        if (root == NIL) return true;
+        int[] queue = new int[size];
+        int head = 0, tail = 0;
+        queue[tail++] = root;
+        boolean gapSeen = false;
+        while (head < tail) {
+            int current = queue[head++];
+            if (left[current] == NIL) gapSeen = true;
+            else if (gapSeen) return false;
+            else queue[tail++] = left[current];
+            if (right[current] == NIL) gapSeen = true;
+            else if (gapSeen) return false;
+            else queue[tail++] = right[current];
+        }
+        return true;
+    }
+
+    // Verifica se a árvore é cheia (todos os nós têm 0 ou 2 filhos)
+    public boolean isFull() {
+        return isStrictlyBinary();
+    }
+
+    // Função principal com exemplos de uso da árvore
+    public static void main(String[] args) {
+        BinaryTreeArray tree = new BinaryTreeArray();
+        int[] values = {50, 30, 70, 20, 40, 60, 80};
+        for (int value : values) tree.insert(value);
+
+        System.out.println("Percurso em ordem:");
+        tree.inorder();
+        System.out.println("Percurso pré-ordem:");
+        tree.preorder();
+        System.out.println("Percurso pós-ordem:");
+        tree.postorder();
+
+        System.out.println("Altura da árvore: " + tree.getHeight());
+        System.out.println("Nível do nó 60: " + tree.getNodeLevel(60));
+        System.out.println("Grau do nó 30: " + tree.getDegree(30));
+        System.out.println("Busca por 40: " + tree.search(40));
+        System.out.println("A árvore é estritamente binária? " + tree.isStrictlyBinary());
+        System.out.println("A árvore é completa? " + tree.isComplete());
+        System.out.println("A árvore é cheia? " + tree.isFull());
+
+        System.out.println("Removendo 20 e 30...");
+        tree.remove(20);
+        tree.remove(30);
+        tree.inorder();
+
+        // Carga maior: as posições liberadas são reaproveitadas antes de crescer os vetores
+        int n = 1000000;
+        BinaryTreeArray big = new BinaryTreeArray(n);
+        Random rand = new Random(42);
+        for (int i = 0; i < n; i++) big.insert(rand.nextInt());
+        System.out.println("\n" + big.size() + " chaves aleatórias em " + (big.capacity() * 12L / 1024) + " KB de vetores");
+        System.out.println("Altura da árvore: " + big.getHeight());
+    }
+}
@@ -0,0 +1,682 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+
+// Classe que representa um nó da árvore balanceada
+class NodeBalanced {
+    int data; // valor armazenado no nó
+    NodeBalanced left, right; // ponteiros para os filhos esquerdo e direito
+    int height; // altura da subárvore com raiz neste nó (folha = 0)
+    boolean red; // cor do nó (usada apenas no modo rubro-negro)
+    int size; // quantidade de nós da subárvore com raiz neste nó
+
+    // Construtor: todo nó novo nasce como folha vermelha
+    public NodeBalanced(int data) {
+        this.data = data;
+        this.left = null;
+        this.right = null;
+        this.height = 0;
+        this.red = true;
+        this.size = 1;
+    }
+}
+
+// Árvore binária de busca autobalanceada (AVL ou rubro-negra), com a mesma interface da BinaryTree
+public class BinaryTreeBalanced {
+    // Estratégias de balanceamento disponíveis
+    public enum Mode { AVL, RED_BLACK }
+
+    private NodeBalanced root; // raiz da árvore
+    private final Mode mode; // estratégia escolhida na construção
+    // Total de rotações feitas para rebalancear; LongAdder porque as operações de conjunto rotacionam em paralelo
+    private final LongAdder rotations = new LongAdder();
+
+    // Por padrão a árvore usa balanceamento AVL
+    public BinaryTreeBalanced() {
+        this(Mode.AVL);
+    }
+
+    public BinaryTreeBalanced(Mode mode) {
+        this.mode = mode;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    // Quantidade de rotações executadas desde a criação da árvore
+    public long getRotationCount() {
+        return rotations.sum();
+    }
+
+    // Insere um valor na árvore (valores repetidos seguem para a direita, como na BinaryTree)
+    public void insert(int value) {
+        if (mode == Mode.AVL) {
+            root = insertAvl(root, value);
+        } else {
+            root = insertRedBlack(root, value);
+            root.red = false;
+        }
+    }
+
+    // Remove uma ocorrência do valor, se existir
+    public void remove(int value) {
+        if (mode == Mode.AVL) {
+            root = removeAvl(root, value);
+            return;
+        }
+        if (!search(value)) return; // a remoção rubro-negra exige que a chave exista
+        if (!isRed(root.left) && !isRed(root.right)) root.red = true;
+        root = removeRedBlack(root, rankInclusive(value) - 1);
+        if (root != null) root.red = false;
+    }
+
+    // ---------- AVL ----------
+
+    private NodeBalanced insertAvl(NodeBalanced node, int value) {
+        if (node == null) return new NodeBalanced(value);
+        if (value < node.data) node.left = insertAvl(node.left, value);
+        else node.right = insertAvl(node.right, value);
+        return rebalanceAvl(node);
+    }
+
+    private NodeBalanced removeAvl(NodeBalanced node, int value) {
+        if (node == null) return null;
+        if (value < node.data) node.left = removeAvl(node.left, value);
+        else if (value > node.data) node.right = removeAvl(node.right, value);
+        else {
+            // Caso 1: nó com um ou nenhum filho
+            if (node.left == null) return node.right;
+            if (node.right == null) return node.left;
+            // Caso 2: nó com dois filhos - substitui pelo sucessor
+            node.data = minNode(node.right).data;
+            node.right = removeMinAvl(node.right);
+        }
+        return rebalanceAvl(node);
+    }
+
+    // Remove o menor nó da subárvore, rebalanceando no caminho de volta
+    private NodeBalanced removeMinAvl(NodeBalanced node) {
+        if (node.left == null) return node.right;
+        node.left = removeMinAvl(node.left);
+        return rebalanceAvl(node);
+    }
+
+    // Restaura o fator de balanceamento (-1, 0 ou 1) do nó com no máximo duas rotações
+    private NodeBalanced rebalanceAvl(NodeBalanced node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) node.left = rotateLeft(node.left);
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) node.right = rotateRight(node.right);
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    // ---------- Rubro-negra (left-leaning, de Sedgewick) ----------
+
+    private NodeBalanced insertRedBlack(NodeBalanced node, int value) {
+        if (node == null) return new NodeBalanced(value);
+        if (value < node.data) node.left = insertRedBlack(node.left, value);
+        else node.right = insertRedBlack(node.right, value);
+        return fixUpRedBlack(node);
+    }
+
+    // Remove o nó na posição k (em ordem, a partir de 0) da subárvore. Com chaves repetidas, remove()
+    // pede a posição da última cópia: assim as rotações de moveRedRight nunca trazem para cima
+    // outra cópia igual que seria removida no lugar errado. As rotações preservam a ordem da
+    // subárvore, então k continua válido e cada nível custa O(1) pelo tamanho do filho esquerdo
+    private NodeBalanced removeRedBlack(NodeBalanced node, int k) {
+        if (k < size(node.left)) {
+            if (!isRed(node.left) && !isRed(node.left.left)) node = moveRedLeft(node);
+            node.left = removeRedBlack(node.left, k);
+        } else {
+            if (isRed(node.left)) node = rotateRight(node);
+            if (k == size(node.left) && node.right == null) return null;
+            if (!isRed(node.right) && !isRed(node.right.left)) node = moveRedRight(node);
+            if (k == size(node.left)) {
+                // Substitui pelo sucessor e remove o menor da subárvore direita
+                node.data = minNode(node.right).data;
+                node.right = removeMinRedBlack(node.right);
+            } else {
+                node.right = removeRedBlack(node.right, k - size(node.left) - 1);
+            }
+        }
+        return fixUpRedBlack(node);
+    }
+
+    private NodeBalanced removeMinRedBlack(NodeBalanced node) {
+        if (node.left == null) return null;
+        if (!isRed(node.left) && !isRed(node.left.left)) node = moveRedLeft(node);
+        node.left = removeMinRedBlack(node.left);
+        return fixUpRedBlack(node);
+    }
+
+    // Restaura as invariantes da árvore rubro-negra inclinada à esquerda
+    private NodeBalanced fixUpRedBlack(NodeBalanced node) {
+        if (isRed(node.right) && !isRed(node.left)) node = rotateLeft(node);
+        if (isRed(node.left) && isRed(node.left.left)) node = rotateRight(node);
+        if (isRed(node.left) && isRed(node.right)) flipColors(node);
+        update(node);
+        return node;
+    }
+
+    private NodeBalanced moveRedLeft(NodeBalanced node) {
+        flipColors(node);
+        if (isRed(node.right.left)) {
+            node.right = rotateRight(node.right);
+            node = rotateLeft(node);
+            flipColors(node);
+        }
+        return node;
+    }
+
+    private NodeBalanced moveRedRight(NodeBalanced node) {
+        flipColors(node);
+        if (isRed(node.left.left)) {
+            node = rotateRight(node);
+            flipColors(node);
+        }
+        return node;
+    }
+
+    private void flipColors(NodeBalanced node) {
+        node.red = !node.red;
+        node.left.red = !node.left.red;
+        node.right.red = !node.right.red;
+    }
+
+    private boolean isRed(NodeBalanced node) {
+        return node != null && node.red;
+    }
+
+    // ---------- Rotações e atributos auxiliares ----------
+
+    // Rotação simples à esquerda: o filho direito sobe para o lugar do nó
+    private NodeBalanced rotateLeft(NodeBalanced node) {
+        NodeBalanced x = node.right;
+        node.right = x.left;
+        x.left = node;
+        x.red = node.red;
+        node.red = true;
+        update(node);
+        update(x);
+        rotations.increment();
+        return x;
+    }
+
+    // Rotação simples à direita: o filho esquerdo sobe para o lugar do nó
+    private NodeBalanced rotateRight(NodeBalanced node) {
+        NodeBalanced x = node.left;
+        node.left = x.right;
+        x.right = node;
+        x.red = node.red;
+        node.red = true;
+        update(node);
+        update(x);
+        rotations.increment();
+        return x;
+    }
+
+    // Recalcula a altura e o tamanho da subárvore do nó a partir dos filhos
+    private void update(NodeBalanced node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private int size(NodeBalanced node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private int height(NodeBalanced node) {
+        return node == null ? -1 : node.height;
+    }
+
+    private NodeBalanced minNode(NodeBalanced node) {
+        while (node.left != null) node = node.left;
+        return node;
+    }
+
+    private NodeBalanced maxNode(NodeBalanced node) {
+        while (node.right != null) node = node.right;
+        return node;
+    }
+
+    // ---------- Álgebra de conjuntos por divisão e junção (somente AVL) ----------
+    // União, interseção e diferença em O(m log(n/m + 1)), com m o tamanho da menor árvore.
+    // São destrutivas: o resultado fica nesta árvore e a outra termina vazia. Com valores repetidos,
+    // as cópias desta árvore são preservadas (na interseção e na diferença, conforme o valor exista
+    // ou não na outra) e as da outra só entram na união quando o valor não existe aqui
+
+    // Acima desta quantidade de nós as duas metades de uma operação são feitas em paralelo
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+    private static final int UNION = 0, INTERSECTION = 1, DIFFERENCE = 2;
+    private static final long NO_KEY = Long.MIN_VALUE; // nenhum int é igual a este valor
+
+    // Move para uma nova árvore os valores maiores ou iguais à chave; os menores ficam nesta
+    public BinaryTreeBalanced split(int key) {
+        requireAvl(this);
+        NodeBalanced[] parts = split(root, key);
+        root = parts[0];
+        BinaryTreeBalanced greater = new BinaryTreeBalanced(Mode.AVL);
+        greater.root = parts[1];
+        return greater;
+    }
+
+    // Acrescenta ao fim desta árvore todos os valores da outra, que precisam ser maiores ou iguais
+    // aos daqui; a outra termina vazia
+    public void join(BinaryTreeBalanced other) {
+        requireAvl(other);
+        if (other == this || other.root == null) return;
+        if (root != null && maxNode(root).data > minNode(other.root).data) {
+            throw new IllegalArgumentException("Os valores da outra árvore precisam ser maiores ou iguais aos desta");
+        }
+        root = join2(root, other.root);
+        other.root = null;
+    }
+
+    // Esta árvore passa a conter os valores das duas
+    public void union(BinaryTreeBalanced other) {
+        combine(UNION, other);
+    }
+
+    // Esta árvore mantém só os valores que também existem na outra
+    public void intersection(BinaryTreeBalanced other) {
+        combine(INTERSECTION, other);
+    }
+
+    // Esta árvore perde os valores que existem na outra
+    public void difference(BinaryTreeBalanced other) {
+        combine(DIFFERENCE, other);
+    }
+
+    private void combine(int operation, BinaryTreeBalanced other) {
+        requireAvl(other);
+        if (other == this) {
+            if (operation == DIFFERENCE) root = null;
+            return;
+        }
+        SetTask task = new SetTask(this, operation, root, other.root, NO_KEY, false, NO_KEY, false);
+        root = ForkJoinPool.getCommonPoolParallelism() <= 1 ? task.compute() : ForkJoinPool.commonPool().invoke(task);
+        other.root = null;
+    }
+
+    private void requireAvl(BinaryTreeBalanced other) {
+        if (mode != Mode.AVL || other.mode != Mode.AVL) {
+            throw new IllegalStateException("Divisão, junção e operações de conjunto exigem o modo AVL");
+        }
+    }
+
+    // Combina a subárvore "a" desta árvore com a parte "b" da outra. A raiz de "a" divide "b" em
+    // menores, iguais e maiores; as duas metades são combinadas (em paralelo, se forem grandes) e
+    // reunidas por join. lo/hi guardam a chave do ancestral mais próximo à esquerda/direita e se ela
+    // existia em "b": as cópias de uma chave em "a" ficam coladas a ele, mas as iguais de "b" já saíram
+    private static final class SetTask extends RecursiveTask<NodeBalanced> {
+        private static final long serialVersionUID = 1L;
+
+        private final BinaryTreeBalanced tree;
+        private final int operation;
+        private final NodeBalanced a, b;
+        private final long loKey, hiKey;
+        private final boolean loPresent, hiPresent;
+
+        SetTask(BinaryTreeBalanced tree, int operation, NodeBalanced a, NodeBalanced b,
+                long loKey, boolean loPresent, long hiKey, boolean hiPresent) {
+            this.tree = tree;
+            this.operation = operation;
+            this.a = a;
+            this.b = b;
+            this.loKey = loKey;
+            this.loPresent = loPresent;
+            this.hiKey = hiKey;
+            this.hiPresent = hiPresent;
+        }
+
+        @Override
+        protected NodeBalanced compute() {
+            if (a == null) return operation == UNION ? b : null;
+            if (b == null) return operation == UNION ? a : withoutOther();
+            int key = a.data;
+            NodeBalanced[] lower = tree.split(b, key);
+            NodeBalanced[] upper = tree.split(lower[1], key + 1L);
+            boolean present = upper[0] != null || (key == loKey && loPresent) || (key == hiKey && hiPresent);
+            NodeBalanced left = a.left, right = a.right;
+
+            SetTask leftTask = new SetTask(tree, operation, left, lower[0], loKey, loPresent, key, present);
+            SetTask rightTask = new SetTask(tree, operation, right, upper[1], key, present, hiKey, hiPresent);
+            NodeBalanced leftResult, rightResult;
+            if (tree.size(a) + tree.size(b) >= PARALLEL_THRESHOLD && getPool() != null) {
+                leftTask.fork();
+                rightResult = rightTask.compute();
+                leftResult = leftTask.join();
+            } else {
+                leftResult = leftTask.compute();
+                rightResult = rightTask.compute();
+            }
+
+            boolean keep = operation == UNION || (operation == INTERSECTION) == present;
+            return keep ? tree.join(leftResult, a, rightResult) : tree.join2(leftResult, rightResult);
+        }
+
+        // Sem "b", só as cópias de loKey e hiKey (nas bordas de "a") podem existir na outra árvore:
+        // dois split as separam em O(log n), sem descer pelo resto da subárvore
+        private NodeBalanced withoutOther() {
+            NodeBalanced low = null, middle = a, high = null;
+            if (loPresent) {
+                NodeBalanced[] parts = tree.split(middle, loKey + 1);
+                low = parts[0];
+                middle = parts[1];
+            }
+            if (hiPresent) {
+                NodeBalanced[] parts = tree.split(middle, hiKey);
+                middle = parts[0];
+                high = parts[1];
+            }
+            return operation == DIFFERENCE ? middle : tree.join2(low, high);
+        }
+    }
+
+    // Divide a subárvore em [valores < key, valores >= key]
+    private NodeBalanced[] split(NodeBalanced node, long key) {
+        if (node == null) return new NodeBalanced[2];
+        NodeBalanced left = node.left, right = node.right;
+        if (node.data < key) {
+            NodeBalanced[] parts = split(right, key);
+            parts[0] = join(left, node, parts[0]);
+            return parts;
+        }
+        NodeBalanced[] parts = split(left, key);
+        parts[1] = join(parts[1], node, right);
+        return parts;
+    }
+
+    // Junta left, o nó e right (valores de left <= nó <= valores de right) numa árvore AVL: desce
+    // pela lateral da mais alta até uma subárvore de altura compatível e rebalanceia na volta
+    private NodeBalanced join(NodeBalanced left, NodeBalanced node, NodeBalanced right) {
+        if (height(left) > height(right) + 1) return joinRight(left, node, right);
+        if (height(right) > height(left) + 1) return joinLeft(left, node, right);
+        node.left = left;
+        node.right = right;
+        update(node);
+        return node;
+    }
+
+    private NodeBalanced joinRight(NodeBalanced left, NodeBalanced node, NodeBalanced right) {
+        if (height(left.right) <= height(right) + 1) {
+            node.left = left.right;
+            node.right = right;
+            update(node);
+            left.right = node;
+        } else {
+            left.right = joinRight(left.right, node, right);
+        }
+        return rebalanceAvl(left);
+    }
+
+    private NodeBalanced joinLeft(NodeBalanced left, NodeBalanced node, NodeBalanced right) {
+        if (height(right.left) <= height(left) + 1) {
+            node.left = left;
+            node.right = right.left;
+            update(node);
+            right.left = node;
+        } else {
+            right.left = joinLeft(left, node, right.left);
+        }
+        return rebalanceAvl(right);
+    }
+
+    // Junta duas subárvores sem nó intermediário: o menor nó da direita faz esse papel
+    private NodeBalanced join2(NodeBalanced left, NodeBalanced right) {
+        if (left == null) return right;
+        if (right == null) return left;
+        NodeBalanced min = minNode(right);
+        return join(left, min, removeMinAvl(right));
+    }
+
+    // ---------- Consultas (mesma interface da BinaryTree) ----------
+
+    // Busca um nó com o valor especificado descendo pela ordenação
+    private NodeBalanced searchNode(int value) {
+        NodeBalanced node = root;
+        while (node != null && node.data != value) {
+            node = value < node.data ? node.left : node.right;
+        }
+        return node;
+    }
+
+    // Verifica se um valor existe na árvore
+    public boolean search(int value) {
+        return searchNode(value) != null;
+    }
+
+    // Altura da árvore, mantida nos próprios nós (O(1))
+    public int getHeight() {
+        return height(root);
+    }
+
+    // Retorna o nível (profundidade) de um nó com valor específico
+    public int getNodeLevel(int value) {
+        NodeBalanced node = root;
+        int level = 0;
+        while (node != null) {
+            if (node.data == value) return level;
+            node = value < node.data ? node.left : node.right;
+            level++;
+        }
+        return -1;
+    }
+
+    // Retorna o grau de um nó (quantidade de filhos)
+    public int getDegree(int value) {
+        NodeBalanced node = searchNode(value);
+        if (node == null) return -1;
+        int degree = 0;
+        if (node.left != null) degree++;
+        if (node.right != null) degree++;
+        return degree;
+    }
+
+    // ---------- Estatísticas de ordem (usam o tamanho guardado em cada nó) ----------
+
+    // Quantidade de nós da árvore (O(1))
+    public int size() {
+        return size(root);
+    }
+
+    // Quantidade de valores estritamente menores que a chave (O(log n))
+    public int rank(int key) {
+        int rank = 0;
+        NodeBalanced node = root;
+        while (node != null) {
+            if (key <= node.data) {
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return rank;
+    }
+
+    // Quantidade de valores menores ou iguais à chave (O(log n))
+    private int rankInclusive(int key) {
+        int rank = 0;
+        NodeBalanced node = root;
+        while (node != null) {
+            if (key < node.data) {
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return rank;
+    }
+
+    // Retorna o k-ésimo menor valor, contando a partir de 0 (O(log n))
+    public int select(int k) {
+        if (k < 0 || k >= size()) throw new IndexOutOfBoundsException("Posição " + k + " fora da árvore de tamanho " + size());
+        NodeBalanced node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (k < leftSize) {
+                node = node.left;
+            } else if (k == leftSize) {
+                return node.data;
+            } else {
+                k -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    // Quantidade de valores no intervalo fechado [lo, hi] (O(log n))
+    public int countInRange(int lo, int hi) {
+        if (lo > hi) return 0;
+        return rankInclusive(hi) - rank(lo);
+    }
+
+    // Entrega em ordem crescente os valores do intervalo fechado [lo, hi], descendo só pelos
+    // ramos que podem ter valores no intervalo (O(log n + k))
+    public void forEachInRange(int lo, int hi, IntConsumer action) {
+        forEachInRangeRec(root, lo, hi, action);
+    }
+
+    private void forEachInRangeRec(NodeBalanced node, int lo, int hi, IntConsumer action) {
+        if (node == null) return;
+        if (lo <= node.data) forEachInRangeRec(node.left, lo, hi, action); // cópias iguais podem estar à esquerda
+        if (lo <= node.data && node.data <= hi) action.accept(node.data);
+        if (node.data <= hi) forEachInRangeRec(node.right, lo, hi, action);
+    }
+
+    // Impressão em ordem (esquerda, raiz, direita)
+    public void inorder() {
+        inorderRec(root);
+        System.out.println();
+    }
+
+    private void inorderRec(NodeBalanced node) {
+        if (node != null) {
+            inorderRec(node.left);
+            System.out.print(node.data + " ");
+            inorderRec(node.right);
+        }
+    }
+
+    // Impressão pré-ordem (raiz, esquerda, direita)
+    public void preorder() {
+        preorderRec(root);
+        System.out.println();
+    }
+
+    private void preorderRec(NodeBalanced node) {
+        if (node != null) {
+            System.out.print(node.data + " ");
+            preorderRec(node.left);
+            preorderRec(node.right);
+        }
+    }
+
+    // Impressão pós-ordem (esquerda, direita, raiz)
+    public void postorder() {
+        postorderRec(root);
+        System.out.println();
+    }
+
+    private void postorderRec(NodeBalanced node) {
+        if (node != null) {
+            postorderRec(node.left);
+            postorderRec(node.right);
+            System.out.print(node.data + " ");
+        }
+    }
+
+    // Verifica se a árvore é estritamente binária
+    public boolean isStrictlyBinary() {
+        return isStrictlyBinaryRec(root);
+    }
+
+    private boolean isStrictlyBinaryRec(NodeBalanced node) {
+        if (node == null) return true;
+        if ((node.left == null) != (node.right == null)) return false;
+        return isStrictlyBinaryRec(node.left) && isStrictlyBinaryRec(node.right);
+    }
+
+    // Verifica se a árvore é completa
+    public boolean isComplete() {
+        return isCompleteRec(root, 0, size());
+    }
+
+    private boolean isCompleteRec(NodeBalanced node, long index, int totalNodes) {
+        if (node == null) return true;
+        if (index >= totalNodes) return false;
+        return isCompleteRec(node.left, 2 * index + 1, totalNodes) &&
+               isCompleteRec(node.right, 2 * index + 2, totalNodes);
+    }
+
+    // Verifica se a árvore é cheia (todos os nós têm 0 ou 2 filhos)
+    public boolean isFull() {
+        return isStrictlyBinaryRec(root);
+    }
+
+    // Exemplo de uso: insere chaves já ordenadas, o pior caso da BinaryTree
+    public static void main(String[] args) {
+        int n = 100000;
+        for (Mode mode : Mode.values()) {
+            BinaryTreeBalanced tree = new BinaryTreeBalanced(mode);
+            for (int i = 1; i <= n; i++) tree.insert(i);
+            System.out.println("Modo " + mode + ": " + n + " chaves ordenadas");
+            System.out.println("Altura da árvore: " + tree.getHeight());
+            System.out.println("Rotações na inserção: " + tree.getRotationCount());
+
+            for (int i = 1; i <= n; i += 2) tree.remove(i);
+            System.out.println("Altura após remover as chaves ímpares: " + tree.getHeight());
+            System.out.println("Rotações acumuladas: " + tree.getRotationCount());
+            System.out.println("Busca por 500: " + tree.search(500) + " | Busca por 501: " + tree.search(501));
+            System.out.println("Nível do nó 500: " + tree.getNodeLevel(500));
+            System.out.println();
+        }
+
+        BinaryTreeBalanced tree = new BinaryTreeBalanced(Mode.RED_BLACK);
+        int[] values = {50, 30, 70, 20, 40, 60, 80};
+        for (int value : values) tree.insert(value);
+
+        System.out.println("Percurso em ordem:");
+        tree.inorder();
+        System.out.println("Percurso pré-ordem:");
+        tree.preorder();
+        System.out.println("Grau do nó 30: " + tree.getDegree(30));
+        System.out.println("Mediana: " + tree.select(tree.size() / 2) + " | posição do 60: " + tree.rank(60));
+        System.out.println("Valores entre 25 e 65: " + tree.countInRange(25, 65));
+        System.out.println("A árvore é completa? " + tree.isComplete());
+
+        System.out.println("Removendo 20 e 30...");
+        tree.remove(20);
+        tree.remove(30);
+        tree.inorder();
+
+        // Operações de conjunto (AVL): múltiplos de 2 contra múltiplos de 3
+        BinaryTreeBalanced evens = new BinaryTreeBalanced();
+        BinaryTreeBalanced triples = new BinaryTreeBalanced();
+        for (int i = 0; i < 1000000; i++) {
+            evens.insert(2 * i);
+            triples.insert(3 * i);
+        }
+        long start = System.nanoTime();
+        evens.difference(triples);
+        System.out.println("\nPares que não são múltiplos de 3: " + evens.size() + " valores em "
+                + (System.nanoTime() - start) / 1000000 + " ms, altura " + evens.getHeight());
+        BinaryTreeBalanced sixes = new BinaryTreeBalanced();
+        for (int i = 0; i < 100; i++) sixes.insert(6 * i);
+        evens.union(sixes);
+        BinaryTreeBalanced upper = evens.split(1000);
+        System.out.println("Após reunir 100 múltiplos de 6 e dividir em 1000: " + evens.size() + " + " + upper.size() + " valores");
+        evens.join(upper);
+        System.out.println("Após juntar de novo: " + evens.size() + " valores, altura " + evens.getHeight());
+    }
+}
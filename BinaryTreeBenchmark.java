@@ -0,0 +1,243 @@
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Supplier;
+
+// Benchmark das três implementações (BinaryTree, BinaryTreeUserInput e BinaryTreeRandom) e da
+// BinaryTreeBalanced (AVL e rubro-negra) para inserção, busca, remoção, percurso em ordem, altura e
+// verificação de completude, com aquecimento da JIT, várias distribuições de entrada e medição de
+// alocação e coletas do GC.
+//
+// O repositório não tem arquivo de build: cada árvore é um programa avulso compilado com javac, e
+// este benchmark segue o mesmo formato em vez de um módulo JMH. A alocação por operação vem do
+// ThreadMXBean e as coletas dos GarbageCollectorMXBean, o que o JMH mostraria com -prof gc.
+//
+// Uso: java -Xmx4g BinaryTreeBenchmark [tamanho ...]   (padrão: 1000 10000 100000 1000000 10000000)
+public class BinaryTreeBenchmark {
+    private static final int WARMUP_ROUNDS = 3; // rodadas descartadas para aquecer a JIT
+    private static final int MEASURED_ROUNDS = 5; // rodadas medidas (o resultado é a média)
+    // A partir deste tamanho cada rodada já dura segundos e a JIT foi aquecida pelos tamanhos menores
+    private static final int LARGE_SIZE = 1000000;
+    private static final int LARGE_WARMUP_ROUNDS = 1;
+    private static final int LARGE_MEASURED_ROUNDS = 2;
+    private static final int LOOKUPS = 10000; // buscas por rodada
+    // Entradas ordenadas degeneram as árvores sem balanceamento numa lista, e montar a árvore custa
+    // O(n²) (100000 chaves levariam minutos). Acima deste tamanho essas entradas só rodam nas
+    // variantes balanceadas, que cobrem o intervalo inteiro
+    private static final int DEGENERATE_LIMIT = 20000;
+
+    // Distribuições de entrada
+    enum Distribution { SORTED, REVERSE, UNIFORM, ZIPF }
+
+    // Operações medidas
+    enum Operation { INSERT, SEARCH, LEVEL, REMOVE, INORDER, HEIGHT, IS_COMPLETE }
+
+    // Interface comum às três árvores, que não compartilham nomes de métodos
+    interface TreeOps {
+        void insert(int value);
+        boolean search(int value);
+        int level(int value);
+        void remove(int value);
+        void inorder();
+        int height();
+        boolean isComplete();
+    }
+
+    static TreeOps binaryTree() {
+        BinaryTree tree = new BinaryTree();
+        return new TreeOps() {
+            public void insert(int value) { tree.insert(value); }
+            public boolean search(int value) { return tree.search(value); }
+            public int level(int value) { return tree.getNodeLevel(value); }
+            public void remove(int value) { tree.remove(value); }
+            public void inorder() { tree.inorder(); }
+            public int height() { return tree.getHeight(); }
+            public boolean isComplete() { return tree.isComplete(); }
+        };
+    }
+
+    static TreeOps binaryTreeUserInput() {
+        BinaryTreeUserInput tree = new BinaryTreeUserInput();
+        return new TreeOps() {
+            public void insert(int value) { tree.insert(value); }
+            public boolean search(int value) { return tree.search(value); }
+            public int level(int value) { return tree.getLevel(value); }
+            public void remove(int value) { tree.remove(value); }
+            public void inorder() { tree.inorder(); }
+            public int height() { return tree.height(); }
+            public boolean isComplete() { return tree.isComplete(); }
+        };
+    }
+
+    static TreeOps binaryTreeRandom() {
+        BinaryTreeRandom tree = new BinaryTreeRandom();
+        return new TreeOps() {
+            public void insert(int value) { tree.insert(value); }
+            public boolean search(int value) { return tree.search(value); }
+            public int level(int value) { return tree.getLevel(value); }
+            public void remove(int value) { tree.removeOne(value); }
+            public void inorder() { tree.inorder(); }
+            public int height() { return tree.height(); }
+            public boolean isComplete() { return tree.isComplete(); }
+        };
+    }
+
+    static TreeOps binaryTreeBalanced(BinaryTreeBalanced.Mode mode) {
+        BinaryTreeBalanced tree = new BinaryTreeBalanced(mode);
+        return new TreeOps() {
+            public void insert(int value) { tree.insert(value); }
+            public boolean search(int value) { return tree.search(value); }
+            public int level(int value) { return tree.getNodeLevel(value); }
+            public void remove(int value) { tree.remove(value); }
+            public void inorder() { tree.inorder(); }
+            public int height() { return tree.getHeight(); }
+            public boolean isComplete() { return tree.isComplete(); }
+        };
+    }
+
+    // Gera n chaves na distribuição pedida (semente fixa para resultados comparáveis)
+    static int[] keys(Distribution distribution, int n) {
+        Random rand = new Random(42);
+        int[] keys = new int[n];
+        switch (distribution) {
+            case SORTED:
+                for (int i = 0; i < n; i++) keys[i] = i;
+                break;
+            case REVERSE:
+                for (int i = 0; i < n; i++) keys[i] = n - i;
+                break;
+            case UNIFORM:
+                // Mesmo gerador da BinaryTreeRandom, com intervalo proporcional ao tamanho
+                for (int i = 0; i < n; i++) keys[i] = rand.nextInt(10 * n);
+                break;
+            case ZIPF:
+                // Zipf com expoente 0,99 sobre n posições; cada posição vira uma chave espalhada
+                double[] cumulative = new double[n];
+                double sum = 0;
+                for (int rank = 0; rank < n; rank++) {
+                    sum += 1.0 / Math.pow(rank + 1, 0.99);
+                    cumulative[rank] = sum;
+                }
+                for (int i = 0; i < n; i++) {
+                    int rank = Arrays.binarySearch(cumulative, rand.nextDouble() * sum);
+                    if (rank < 0) rank = -rank - 1;
+                    keys[i] = (int) ((rank + 1) * 0x9E3779B1L);
+                }
+                break;
+        }
+        return keys;
+    }
+
+    // Acumula tempo, bytes alocados e coletas do GC de uma operação ao longo das rodadas
+    static final class Measurement {
+        long nanos, bytes, operations, gcCount, gcMillis;
+    }
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final PrintStream OUT = System.out;
+    private static long sink; // impede a JIT de descartar resultados não usados
+
+    static long gcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) total += gc.getCollectionCount();
+        return total;
+    }
+
+    static long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) total += gc.getCollectionTime();
+        return total;
+    }
+
+    // Executa uma operação medindo tempo, alocação e GC
+    static void measure(Measurement m, long operations, Runnable body) {
+        long thread = Thread.currentThread().getId();
+        long gcCountBefore = gcCount();
+        long gcMillisBefore = gcMillis();
+        long bytesBefore = THREADS.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        body.run();
+        m.nanos += System.nanoTime() - start;
+        m.bytes += THREADS.getThreadAllocatedBytes(thread) - bytesBefore;
+        m.gcCount += gcCount() - gcCountBefore;
+        m.gcMillis += gcMillis() - gcMillisBefore;
+        m.operations += operations;
+    }
+
+    // Uma rodada completa sobre uma árvore nova; só acumula quando "results" não for null
+    static void round(Supplier<TreeOps> factory, int[] keys, int[] lookups, Measurement[] results) {
+        Measurement[] m = results != null ? results : new Measurement[Operation.values().length];
+        if (results == null) for (int i = 0; i < m.length; i++) m[i] = new Measurement();
+        TreeOps tree = factory.get();
+
+        measure(m[Operation.INSERT.ordinal()], keys.length, () -> {
+            for (int key : keys) tree.insert(key);
+        });
+        measure(m[Operation.SEARCH.ordinal()], lookups.length, () -> {
+            for (int key : lookups) if (tree.search(key)) sink++;
+        });
+        measure(m[Operation.LEVEL.ordinal()], lookups.length, () -> {
+            for (int key : lookups) sink += tree.level(key);
+        });
+        measure(m[Operation.INORDER.ordinal()], 1, tree::inorder);
+        measure(m[Operation.HEIGHT.ordinal()], 1, () -> sink += tree.height());
+        measure(m[Operation.IS_COMPLETE.ordinal()], 1, () -> sink += tree.isComplete() ? 1 : 0);
+        measure(m[Operation.REMOVE.ordinal()], keys.length / 2, () -> {
+            for (int i = 0; i < keys.length; i += 2) tree.remove(keys[i]);
+        });
+    }
+
+    static void run(String name, Supplier<TreeOps> factory, boolean balanced, Distribution distribution, int n) {
+        if (!balanced && (distribution == Distribution.SORTED || distribution == Distribution.REVERSE) && n > DEGENERATE_LIMIT) {
+            OUT.printf("%-20s %-8s %9d  ignorado: entrada ordenada degenera a árvore em O(n²)%n", name, distribution, n);
+            return;
+        }
+        int[] keys = keys(distribution, n);
+        Random rand = new Random(7);
+        int[] lookups = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) lookups[i] = keys[rand.nextInt(n)];
+
+        // Os percursos imprimem na saída padrão: durante a medição ela é descartada
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        Measurement[] results = new Measurement[Operation.values().length];
+        for (int i = 0; i < results.length; i++) results[i] = new Measurement();
+        try {
+            boolean large = n >= LARGE_SIZE;
+            for (int i = 0; i < (large ? LARGE_WARMUP_ROUNDS : WARMUP_ROUNDS); i++) round(factory, keys, lookups, null);
+            for (int i = 0; i < (large ? LARGE_MEASURED_ROUNDS : MEASURED_ROUNDS); i++) round(factory, keys, lookups, results);
+        } finally {
+            System.setOut(OUT);
+        }
+
+        for (Operation op : Operation.values()) {
+            Measurement m = results[op.ordinal()];
+            if (m.operations == 0) continue;
+            OUT.printf("%-20s %-8s %9d  %-12s %14.1f ns/op %12.1f B/op %5d GCs %6d ms GC%n",
+                    name, distribution, n, op,
+                    (double) m.nanos / m.operations, (double) m.bytes / m.operations,
+                    m.gcCount, m.gcMillis);
+        }
+    }
+
+    public static void main(String[] args) {
+        int[] sizes = args.length == 0
+                ? new int[] {1000, 10000, 100000, 1000000, 10000000}
+                : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+
+        OUT.printf("%-20s %-8s %9s  %-12s %20s %17s%n", "Implementação", "Entrada", "Tamanho", "Operação", "Tempo", "Alocação");
+        for (int n : sizes) {
+            for (Distribution distribution : Distribution.values()) {
+                run("BinaryTree", BinaryTreeBenchmark::binaryTree, false, distribution, n);
+                run("BinaryTreeUserInput", BinaryTreeBenchmark::binaryTreeUserInput, false, distribution, n);
+                run("BinaryTreeRandom", BinaryTreeBenchmark::binaryTreeRandom, false, distribution, n);
+                run("Balanced (AVL)", () -> binaryTreeBalanced(BinaryTreeBalanced.Mode.AVL), true, distribution, n);
+                run("Balanced (RB)", () -> binaryTreeBalanced(BinaryTreeBalanced.Mode.RED_BLACK), true, distribution, n);
+            }
+        }
+        if (sink == 42) OUT.println();
+    }
+}
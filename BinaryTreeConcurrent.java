@@ -0,0 +1,296 @@
+import java.util.ArrayDeque;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Nó da árvore concorrente: o valor nunca muda e os filhos só passam de null para um nó (via CAS)
+class NodeConcurrent {
+    final int data; // valor armazenado no nó
+    volatile NodeConcurrent left, right; // filhos, publicados com CAS
+    volatile int deleted; // 1 quando o valor foi removido logicamente
+
+    public NodeConcurrent(int data) {
+        this.data = data;
+    }
+}
+
+// Árvore binária de busca (conjunto, sem repetidos) segura para várias threads:
+// - search() não usa trava nenhuma e termina em no máximo "altura" passos
+// - insert() pendura nós novos com compareAndSet, sem travas entre escritores
+// - remove() apenas marca o nó como removido; os nós marcados são descartados por compact()
+public class BinaryTreeConcurrent {
+    private static final AtomicReferenceFieldUpdater<BinaryTreeConcurrent, NodeConcurrent> ROOT =
+            AtomicReferenceFieldUpdater.newUpdater(BinaryTreeConcurrent.class, NodeConcurrent.class, "root");
+    private static final AtomicReferenceFieldUpdater<NodeConcurrent, NodeConcurrent> LEFT =
+            AtomicReferenceFieldUpdater.newUpdater(NodeConcurrent.class, NodeConcurrent.class, "left");
+    private static final AtomicReferenceFieldUpdater<NodeConcurrent, NodeConcurrent> RIGHT =
+            AtomicReferenceFieldUpdater.newUpdater(NodeConcurrent.class, NodeConcurrent.class, "right");
+    private static final AtomicIntegerFieldUpdater<NodeConcurrent> DELETED =
+            AtomicIntegerFieldUpdater.newUpdater(NodeConcurrent.class, "deleted");
+
+    // Quantidade mínima de nós marcados antes de compactar automaticamente
+    private static final int COMPACT_THRESHOLD = 1024;
+
+    private volatile NodeConcurrent root; // raiz da árvore
+    private final LongAdder size = new LongAdder(); // valores presentes
+    private final LongAdder tombstones = new LongAdder(); // nós marcados como removidos
+    // Escritores compartilham a trava de leitura entre si; só compact() usa a trava exclusiva
+    private final ReentrantReadWriteLock compactLock = new ReentrantReadWriteLock();
+    private volatile int compactions; // alterado só com a trava exclusiva
+
+    // Quantidade de valores presentes
+    public int size() {
+        return size.intValue();
+    }
+
+    // Verifica se um valor existe na árvore (sem travas)
+    public boolean search(int value) {
+        NodeConcurrent node = root;
+        while (node != null) {
+            if (node.data == value) return node.deleted == 0;
+            node = value < node.data ? node.left : node.right;
+        }
+        return false;
+    }
+
+    // Insere um valor; retorna false se ele já estava presente
+    public boolean insert(int value) {
+        compactLock.readLock().lock();
+        try {
+            NodeConcurrent node = null; // criado só quando for realmente pendurado
+            NodeConcurrent current = root;
+            while (current == null) {
+                if (node == null) node = new NodeConcurrent(value);
+                if (ROOT.compareAndSet(this, null, node)) {
+                    size.increment();
+                    return true;
+                }
+                current = root;
+            }
+            while (true) {
+                if (current.data == value) return revive(current);
+                boolean goLeft = value < current.data;
+                NodeConcurrent next = goLeft ? current.left : current.right;
+                if (next == null) {
+                    if (node == null) node = new NodeConcurrent(value);
+                    if ((goLeft ? LEFT : RIGHT).compareAndSet(current, null, node)) {
+                        size.increment();
+                        return true;
+                    }
+                    // Outra thread pendurou um nó aqui primeiro: continua a descida a partir dele
+                    next = goLeft ? current.left : current.right;
+                }
+                current = next;
+            }
+        } finally {
+            compactLock.readLock().unlock();
+        }
+    }
+
+    // Reativa um nó marcado como removido
+    private boolean revive(NodeConcurrent node) {
+        while (node.deleted == 1) {
+            if (DELETED.compareAndSet(node, 1, 0)) {
+                tombstones.decrement();
+                size.increment();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Remove um valor; retorna false se ele não estava presente
+    public boolean remove(int value) {
+        boolean removed = false;
+        compactLock.readLock().lock();
+        try {
+            NodeConcurrent node = root;
+            while (node != null && node.data != value) {
+                node = value < node.data ? node.left : node.right;
+            }
+            if (node != null && DELETED.compareAndSet(node, 0, 1)) {
+                size.decrement();
+                tombstones.increment();
+                removed = true;
+            }
+        } finally {
+            compactLock.readLock().unlock();
+        }
+        // Compacta quando os nós marcados passam a ser maioria
+        if (removed && needsCompaction()) compact(true);
+        return removed;
+    }
+
+    private boolean needsCompaction() {
+        long dead = tombstones.sum();
+        return dead > COMPACT_THRESHOLD && dead > size.sum();
+    }
+
+    // Reconstrói a árvore só com os valores presentes, já balanceada. Os escritores esperam,
+    // mas os leitores continuam na árvore antiga até a nova raiz ser publicada
+    public void compact() {
+        compact(false);
+    }
+
+    // Vários removedores podem passar do limite ao mesmo tempo e fazer fila na trava exclusiva:
+    // com "onlyIfNeeded" o teste é refeito lá dentro (onde os contadores estão parados) e quem
+    // chega depois de uma compactação desiste em vez de reconstruir a árvore de novo
+    private void compact(boolean onlyIfNeeded) {
+        compactLock.writeLock().lock();
+        try {
+            if (onlyIfNeeded && !needsCompaction()) return;
+            int[] values = new int[size()];
+            int count = 0;
+            ArrayDeque<NodeConcurrent> stack = new ArrayDeque<>();
+            NodeConcurrent current = root;
+            while (current != null || !stack.isEmpty()) {
+                while (current != null) {
+                    stack.push(current);
+                    current = current.left;
+                }
+                current = stack.pop();
+                if (current.deleted == 0) values[count++] = current.data;
+                current = current.right;
+            }
+            root = build(values, 0, count - 1);
+            tombstones.reset();
+            compactions++;
+        } finally {
+            compactLock.writeLock().unlock();
+        }
+    }
+
+    // Monta uma subárvore balanceada a partir dos valores ordenados em [from, to]
+    private NodeConcurrent build(int[] values, int from, int to) {
+        if (from > to) return null;
+        int middle = (from + to) >>> 1;
+        NodeConcurrent node = new NodeConcurrent(values[middle]);
+        node.left = build(values, from, middle - 1);
+        node.right = build(values, middle + 1, to);
+        return node;
+    }
+
+    // Compactações feitas (automáticas e pedidas)
+    public int getCompactionCount() {
+        return compactions;
+    }
+
+    // Impressão em ordem dos valores presentes (visão aproximada se houver escritas simultâneas)
+    public void inorder() {
+        ArrayDeque<NodeConcurrent> stack = new ArrayDeque<>();
+        NodeConcurrent current = root;
+        while (current != null || !stack.isEmpty()) {
+            while (current != null) {
+                stack.push(current);
+                current = current.left;
+            }
+            current = stack.pop();
+            if (current.deleted == 0) System.out.print(current.data + " ");
+            current = current.right;
+        }
+        System.out.println();
+    }
+
+    // Calcula a altura da árvore (incluindo nós marcados), percorrendo nível a nível
+    public int getHeight() {
+        NodeConcurrent start = root;
+        if (start == null) return -1;
+        ArrayDeque<NodeConcurrent> queue = new ArrayDeque<>();
+        queue.add(start);
+        int height = -1;
+        while (!queue.isEmpty()) {
+            for (int i = queue.size(); i > 0; i--) {
+                NodeConcurrent node = queue.poll();
+                if (node.left != null) queue.add(node.left);
+                if (node.right != null) queue.add(node.right);
+            }
+            height++;
+        }
+        return height;
+    }
+
+    // Teste de estresse: várias threads inserem e removem ao mesmo tempo enquanto outras buscam
+    public static void main(String[] args) throws InterruptedException {
+        BinaryTreeConcurrent tree = new BinaryTreeConcurrent();
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+        int perThread = 200000;
+        CountDownLatch start = new CountDownLatch(1);
+        // Saldo de inserções e remoções bem-sucedidas de cada chave compartilhada: no fim ele tem de
+        // ser 1 para as presentes e 0 para as ausentes, senão alguma atualização se perdeu
+        int shared = 1000;
+        AtomicIntegerArray balance = new AtomicIntegerArray(shared);
+        Thread[] writers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final int id = t;
+            writers[t] = new Thread(() -> {
+                Random rand = new Random(id);
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                // Cada thread insere a própria faixa (em ordem aleatória) e remove os que não são
+                // múltiplos de 3; os nós marcados viram maioria e disparam compactações no meio do teste
+                int[] keys = new int[perThread];
+                for (int i = 0; i < perThread; i++) keys[i] = id * perThread + i;
+                for (int i = perThread - 1; i > 0; i--) {
+                    int j = rand.nextInt(i + 1);
+                    int tmp = keys[i];
+                    keys[i] = keys[j];
+                    keys[j] = tmp;
+                }
+                for (int key : keys) tree.insert(key);
+                for (int key : keys) {
+                    if (key % 3 != 0) tree.remove(key);
+                    // Ao mesmo tempo, todas as threads inserem e removem as mesmas chaves compartilhadas
+                    int i = rand.nextInt(shared);
+                    if (rand.nextBoolean()) {
+                        if (tree.insert(-1 - i)) balance.incrementAndGet(i);
+                    } else if (tree.remove(-1 - i)) {
+                        balance.decrementAndGet(i);
+                    }
+                }
+            });
+            writers[t].start();
+        }
+        LongAdder lookups = new LongAdder();
+        Thread reader = new Thread(() -> {
+            Random rand = new Random();
+            while (!Thread.currentThread().isInterrupted()) {
+                tree.search(rand.nextInt(threads * perThread));
+                lookups.increment();
+            }
+        });
+        reader.start();
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread writer : writers) writer.join();
+        long millis = (System.nanoTime() - begin) / 1000000;
+        reader.interrupt();
+        reader.join();
+
+        int expected = 0;
+        int lost = 0;
+        for (int key = 0; key < threads * perThread; key++) {
+            boolean shouldExist = key % 3 == 0;
+            if (shouldExist) expected++;
+            if (tree.search(key) != shouldExist) lost++;
+        }
+        for (int i = 0; i < shared; i++) {
+            int present = tree.search(-1 - i) ? 1 : 0;
+            expected += present;
+            if (balance.get(i) != present) lost++;
+        }
+
+        System.out.println(threads + " escritores terminaram em " + millis + " ms; buscas simultâneas: " + lookups.sum());
+        System.out.println("Tamanho esperado: " + expected + " | tamanho obtido: " + tree.size());
+        System.out.println("Atualizações perdidas: " + lost + " | compactações durante o teste: " + tree.getCompactionCount());
+        tree.compact();
+        System.out.println("Altura após compactar: " + tree.getHeight() + " | tamanho: " + tree.size());
+    }
+}
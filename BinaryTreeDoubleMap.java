@@ -0,0 +1,176 @@
+import java.util.ArrayDeque;
+
+// Nó do mapa com chave double guardada sem empacotamento
+class NodeDoubleMap<V> {
+    double key; // chave usada na ordenação
+    V value; // valor associado à chave
+    NodeDoubleMap<V> left, right; // filhos esquerdo e direito
+
+    public NodeDoubleMap(double key, V value) {
+        this.key = key;
+        this.value = value;
+    }
+}
+
+// Versão da BinaryTreeMap especializada para chaves double: inserções e buscas comparam o tipo
+// primitivo diretamente, sem criar um Double por operação. A ordem é a de
+// Double.compare: -0.0 vem antes de 0.0 e NaN é a maior chave
+public class BinaryTreeDoubleMap<V> {
+    private NodeDoubleMap<V> root;
+    private int size;
+
+    private static int compare(double a, double b) {
+        return Double.compare(a, b);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Associa o valor à chave; retorna o valor anterior (ou null se a chave era nova)
+    public V put(double key, V value) {
+        if (root == null) {
+            root = new NodeDoubleMap<>(key, value);
+            size++;
+            return null;
+        }
+        NodeDoubleMap<V> current = root;
+        while (true) {
+            int cmp = compare(key, current.key);
+            if (cmp == 0) {
+                V previous = current.value;
+                current.value = value;
+                return previous;
+            }
+            NodeDoubleMap<V> next = cmp < 0 ? current.left : current.right;
+            if (next == null) {
+                if (cmp < 0) current.left = new NodeDoubleMap<>(key, value);
+                else current.right = new NodeDoubleMap<>(key, value);
+                size++;
+                return null;
+            }
+            current = next;
+        }
+    }
+
+    // Localiza o nó da chave (ou null)
+    private NodeDoubleMap<V> find(double key) {
+        NodeDoubleMap<V> current = root;
+        while (current != null) {
+            int cmp = compare(key, current.key);
+            if (cmp == 0) return current;
+            current = cmp < 0 ? current.left : current.right;
+        }
+        return null;
+    }
+
+    // Valor associado à chave (ou null se ela não existir)
+    public V get(double key) {
+        NodeDoubleMap<V> node = find(key);
+        return node != null ? node.value : null;
+    }
+
+    // Verifica se a chave existe
+    public boolean containsKey(double key) {
+        return find(key) != null;
+    }
+
+    // Remove a chave; retorna o valor que ela tinha (ou null se ela não existir)
+    public V remove(double key) {
+        NodeDoubleMap<V> parent = null;
+        NodeDoubleMap<V> current = root;
+        int cmp = 0;
+        while (current != null && (cmp = compare(key, current.key)) != 0) {
+            parent = current;
+            current = cmp < 0 ? current.left : current.right;
+        }
+        if (current == null) return null;
+        V removed = current.value;
+
+        // Caso 2: dois filhos - copia chave e valor do sucessor e passa a remover o sucessor
+        if (current.left != null && current.right != null) {
+            NodeDoubleMap<V> successorParent = current;
+            NodeDoubleMap<V> successor = current.right;
+            while (successor.left != null) {
+                successorParent = successor;
+                successor = successor.left;
+            }
+            current.key = successor.key;
+            current.value = successor.value;
+            parent = successorParent;
+            current = successor;
+        }
+
+        // Caso 1: nenhum ou um filho - o filho ocupa o lugar do nó
+        NodeDoubleMap<V> child = current.left != null ? current.left : current.right;
+        if (parent == null) root = child;
+        else if (parent.left == current) parent.left = child;
+        else parent.right = child;
+        size--;
+        return removed;
+    }
+
+    // Recebe cada par sem empacotar a chave
+    public interface EntryConsumer<V> {
+        void accept(double key, V value);
+    }
+
+    // Visita os pares em ordem crescente de chave
+    public void forEach(EntryConsumer<? super V> action) {
+        ArrayDeque<NodeDoubleMap<V>> stack = new ArrayDeque<>();
+        NodeDoubleMap<V> current = root;
+        while (current != null || !stack.isEmpty()) {
+            while (current != null) {
+                stack.push(current);
+                current = current.left;
+            }
+            current = stack.pop();
+            action.accept(current.key, current.value);
+            current = current.right;
+        }
+    }
+
+    // Impressão em ordem (esquerda, raiz, direita) no formato chave=valor
+    public void inorder() {
+        forEach((key, value) -> System.out.print(key + "=" + value + " "));
+        System.out.println();
+    }
+
+    // Calcula a altura da árvore percorrendo nível a nível
+    public int getHeight() {
+        if (root == null) return -1;
+        ArrayDeque<NodeDoubleMap<V>> queue = new ArrayDeque<>();
+        queue.add(root);
+        int height = -1;
+        while (!queue.isEmpty()) {
+            for (int i = queue.size(); i > 0; i--) {
+                NodeDoubleMap<V> node = queue.poll();
+                if (node.left != null) queue.add(node.left);
+                if (node.right != null) queue.add(node.right);
+            }
+            height++;
+        }
+        return height;
+    }
+
+    // Exemplo de uso com chaves double, incluindo -0.0 e NaN
+    public static void main(String[] args) {
+        BinaryTreeDoubleMap<String> readings = new BinaryTreeDoubleMap<>();
+        readings.put(36.5, "normal");
+        readings.put(38.2, "febre");
+        readings.put(35.0, "hipotermia");
+        readings.put(0.0, "zero");
+        readings.put(-0.0, "zero negativo");
+        readings.put(Double.NaN, "sem leitura");
+        readings.put(38.2, "febre alta"); // substitui o valor anterior
+        System.out.println("Mapa em ordem:");
+        readings.inorder();
+        System.out.println("Leitura NaN: " + readings.get(Double.NaN));
+        System.out.println("Removido 35.0: " + readings.remove(35.0));
+        readings.inorder();
+    }
+}
@@ -0,0 +1,136 @@
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+// Cópia somente leitura das chaves de uma BinaryTree no layout de Eytzinger: a árvore fica
+// implícita num vetor (raiz na posição 1, filhos de k em 2k e 2k+1). Os primeiros níveis,
+// visitados por todas as buscas, ocupam poucas linhas de cache contíguas e não há ponteiros
+public class BinaryTreeEytzinger {
+    private final int[] keys; // keys[0] não é usado
+    private final int size;
+
+    private BinaryTreeEytzinger(int[] sorted) {
+        size = sorted.length;
+        keys = new int[size + 1];
+        fill(sorted, 0, 1);
+    }
+
+    // Monta o layout a partir do conteúdo atual da árvore
+    public static BinaryTreeEytzinger from(BinaryTree tree) {
+        return new BinaryTreeEytzinger(tree.stream().toArray());
+    }
+
+    // Monta o layout a partir de valores em ordem crescente
+    public static BinaryTreeEytzinger fromSorted(int[] sorted) {
+        return new BinaryTreeEytzinger(sorted);
+    }
+
+    // Percorre a árvore implícita em ordem distribuindo os valores; devolve o próximo índice de sorted
+    private int fill(int[] sorted, int next, int k) {
+        if (k <= size) {
+            next = fill(sorted, next, 2 * k);
+            keys[k] = sorted[next++];
+            next = fill(sorted, next, 2 * k + 1);
+        }
+        return next;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Posição do menor valor >= key (0 se não existir). A descida não tem desvios dependentes
+    // dos dados: no fim, os bits de k guardam o caminho e o último passo à esquerda é a resposta
+    private int lowerBound(long key) {
+        int k = 1;
+        while (k <= size) {
+            k = 2 * k + (keys[k] < key ? 1 : 0);
+        }
+        return k >>> (Integer.numberOfTrailingZeros(~k) + 1);
+    }
+
+    // Verifica se um valor existe
+    public boolean search(int value) {
+        int k = lowerBound(value);
+        return k != 0 && keys[k] == value;
+    }
+
+    // Quantidade de valores no intervalo fechado [lo, hi]
+    public int countInRange(int lo, int hi) {
+        int count = 0;
+        for (PrimitiveIterator.OfInt values = rangeIterator(lo, hi); values.hasNext(); values.nextInt()) count++;
+        return count;
+    }
+
+    // Valores do intervalo fechado [lo, hi] em ordem crescente
+    public IntStream range(int lo, int hi) {
+        int characteristics = Spliterator.ORDERED | Spliterator.SORTED | Spliterator.NONNULL;
+        return StreamSupport.intStream(Spliterators.spliteratorUnknownSize(rangeIterator(lo, hi), characteristics), false);
+    }
+
+    // Parte do menor valor >= lo e avança pelo sucessor em ordem na árvore implícita
+    private PrimitiveIterator.OfInt rangeIterator(int lo, int hi) {
+        return new PrimitiveIterator.OfInt() {
+            private int k = lowerBound(lo);
+
+            @Override
+            public boolean hasNext() {
+                return k != 0 && keys[k] <= hi;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) throw new NoSuchElementException();
+                int value = keys[k];
+                if (2 * k + 1 <= size) {
+                    // Tem filho direito: o sucessor é o nó mais à esquerda dessa subárvore
+                    k = 2 * k + 1;
+                    while (2 * k <= size) k = 2 * k;
+                } else {
+                    // Sobe enquanto for filho direito; o pai seguinte é o sucessor
+                    k >>>= Integer.numberOfTrailingZeros(~k) + 1;
+                }
+                return value;
+            }
+        };
+    }
+
+    // Compara buscas no layout de Eytzinger com buscas na BinaryTree de ponteiros
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        int lookups = 2000000;
+        Random rand = new Random(42);
+        int[] values = new int[n];
+        for (int i = 0; i < n; i++) values[i] = rand.nextInt();
+        BinaryTree tree = new BinaryTree();
+        tree.insertAll(values);
+        BinaryTreeEytzinger layout = from(tree);
+
+        int[] queries = new int[lookups];
+        for (int i = 0; i < lookups; i++) {
+            queries[i] = rand.nextBoolean() ? values[rand.nextInt(n)] : rand.nextInt();
+        }
+
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            int pointerHits = 0;
+            for (int query : queries) if (tree.search(query)) pointerHits++;
+            long pointerNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            int layoutHits = 0;
+            for (int query : queries) if (layout.search(query)) layoutHits++;
+            long layoutNanos = System.nanoTime() - start;
+
+            System.out.printf("Rodada %d: ponteiros %.1f ns/busca (%d achados) | Eytzinger %.1f ns/busca (%d achados)%n",
+                    round + 1, (double) pointerNanos / lookups, pointerHits, (double) layoutNanos / lookups, layoutHits);
+        }
+
+        System.out.println("Valores entre 0 e 1000000: árvore " + tree.range(0, 1000000).count()
+                + " | Eytzinger " + layout.countInRange(0, 1000000));
+    }
+}
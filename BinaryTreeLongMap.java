@@ -0,0 +1,182 @@
+import java.util.ArrayDeque;
+
+// Nó do mapa com chave long guardada sem empacotamento
+class NodeLongMap<V> {
+    long key; // chave usada na ordenação
+    V value; // valor associado à chave
+    NodeLongMap<V> left, right; // filhos esquerdo e direito
+
+    public NodeLongMap(long key, V value) {
+        this.key = key;
+        this.value = value;
+    }
+}
+
+// Versão da BinaryTreeMap especializada para chaves long: inserções e buscas comparam o tipo
+// primitivo diretamente, sem criar um Long por operação. A ordem é a de Long.compare
+public class BinaryTreeLongMap<V> {
+    private NodeLongMap<V> root;
+    private int size;
+
+    private static int compare(long a, long b) {
+        return Long.compare(a, b);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Associa o valor à chave; retorna o valor anterior (ou null se a chave era nova)
+    public V put(long key, V value) {
+        if (root == null) {
+            root = new NodeLongMap<>(key, value);
+            size++;
+            return null;
+        }
+        NodeLongMap<V> current = root;
+        while (true) {
+            int cmp = compare(key, current.key);
+            if (cmp == 0) {
+                V previous = current.value;
+                current.value = value;
+                return previous;
+            }
+            NodeLongMap<V> next = cmp < 0 ? current.left : current.right;
+            if (next == null) {
+                if (cmp < 0) current.left = new NodeLongMap<>(key, value);
+                else current.right = new NodeLongMap<>(key, value);
+                size++;
+                return null;
+            }
+            current = next;
+        }
+    }
+
+    // Localiza o nó da chave (ou null)
+    private NodeLongMap<V> find(long key) {
+        NodeLongMap<V> current = root;
+        while (current != null) {
+            int cmp = compare(key, current.key);
+            if (cmp == 0) return current;
+            current = cmp < 0 ? current.left : current.right;
+        }
+        return null;
+    }
+
+    // Valor associado à chave (ou null se ela não existir)
+    public V get(long key) {
+        NodeLongMap<V> node = find(key);
+        return node != null ? node.value : null;
+    }
+
+    // Verifica se a chave existe
+    public boolean containsKey(long key) {
+        return find(key) != null;
+    }
+
+    // Remove a chave; retorna o valor que ela tinha (ou null se ela não existir)
+    public V remove(long key) {
+        NodeLongMap<V> parent = null;
+        NodeLongMap<V> current = root;
+        int cmp = 0;
+        while (current != null && (cmp = compare(key, current.key)) != 0) {
+            parent = current;
+            current = cmp < 0 ? current.left : current.right;
+        }
+        if (current == null) return null;
+        V removed = current.value;
+
+        // Caso 2: dois filhos - copia chave e valor do sucessor e passa a remover o sucessor
+        if (current.left != null && current.right != null) {
+            NodeLongMap<V> successorParent = current;
+            NodeLongMap<V> successor = current.right;
+            while (successor.left != null) {
+                successorParent = successor;
+                successor = successor.left;
+            }
+            current.key = successor.key;
+            current.value = successor.value;
+            parent = successorParent;
+            current = successor;
+        }
+
+        // Caso 1: nenhum ou um filho - o filho ocupa o lugar do nó
+        NodeLongMap<V> child = current.left != null ? current.left : current.right;
+        if (parent == null) root = child;
+        else if (parent.left == current) parent.left = child;
+        else parent.right = child;
+        size--;
+        return removed;
+    }
+
+    // Recebe cada par sem empacotar a chave
+    public interface EntryConsumer<V> {
+        void accept(long key, V value);
+    }
+
+    // Visita os pares em ordem crescente de chave
+    public void forEach(EntryConsumer<? super V> action) {
+        ArrayDeque<NodeLongMap<V>> stack = new ArrayDeque<>();
+        NodeLongMap<V> current = root;
+        while (current != null || !stack.isEmpty()) {
+            while (current != null) {
+                stack.push(current);
+                current = current.left;
+            }
+            current = stack.pop();
+            action.accept(current.key, current.value);
+            current = current.right;
+        }
+    }
+
+    // Impressão em ordem (esquerda, raiz, direita) no formato chave=valor
+    public void inorder() {
+        forEach((key, value) -> System.out.print(key + "=" + value + " "));
+        System.out.println();
+    }
+
+    // Calcula a altura da árvore percorrendo nível a nível
+    public int getHeight() {
+        if (root == null) return -1;
+        ArrayDeque<NodeLongMap<V>> queue = new ArrayDeque<>();
+        queue.add(root);
+        int height = -1;
+        while (!queue.isEmpty()) {
+            for (int i = queue.size(); i > 0; i--) {
+                NodeLongMap<V> node = queue.poll();
+                if (node.left != null) queue.add(node.left);
+                if (node.right != null) queue.add(node.right);
+            }
+            height++;
+        }
+        return height;
+    }
+
+    // Exemplo de uso com identificadores long maiores que Integer.MAX_VALUE
+    public static void main(String[] args) {
+        BinaryTreeLongMap<String> users = new BinaryTreeLongMap<>();
+        users.put(9_000_000_001L, "ana");
+        users.put(3_000_000_000L, "joão");
+        users.put(12_500_000_000L, "maria");
+        users.put(-7L, "sistema");
+        users.put(3_000_000_000L, "joão silva"); // substitui o valor anterior
+        System.out.println("Mapa em ordem:");
+        users.inorder();
+        System.out.println("Usuário 9000000001: " + users.get(9_000_000_001L));
+        System.out.println("Removido -7: " + users.remove(-7L));
+        users.inorder();
+
+        // Um milhão de inserções e buscas sem nenhum Long criado
+        BinaryTreeLongMap<Boolean> ids = new BinaryTreeLongMap<>();
+        long key = 1;
+        for (int i = 0; i < 1000000; i++) {
+            key = key * 6364136223846793005L + 1442695040888963407L;
+            ids.put(key, Boolean.TRUE);
+        }
+        System.out.println("\nChaves: " + ids.size() + " | altura: " + ids.getHeight() + " | contém a última: " + ids.containsKey(key));
+    }
+}
@@ -0,0 +1,190 @@
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.function.BiConsumer;
+
+// Nó do mapa: chave e valor genéricos
+class NodeMap<K, V> {
+    K key; // chave usada na ordenação
+    V value; // valor associado à chave
+    NodeMap<K, V> left, right; // filhos esquerdo e direito
+
+    public NodeMap(K key, V value) {
+        this.key = key;
+        this.value = value;
+    }
+}
+
+// Árvore binária de busca usada como mapa: cada chave aparece uma vez e guarda um valor.
+// A ordem vem de um Comparator ou, sem ele, da ordem natural das chaves (Comparable)
+public class BinaryTreeMap<K, V> {
+    private final Comparator<? super K> comparator;
+    private NodeMap<K, V> root;
+    private int size;
+
+    // Mapa ordenado pela ordem natural das chaves
+    public BinaryTreeMap() {
+        this(null);
+    }
+
+    // Mapa ordenado pelo comparador informado
+    public BinaryTreeMap(Comparator<? super K> comparator) {
+        this.comparator = comparator;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(K a, K b) {
+        return comparator != null ? comparator.compare(a, b) : ((Comparable<? super K>) a).compareTo(b);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Associa o valor à chave; retorna o valor anterior (ou null se a chave era nova)
+    public V put(K key, V value) {
+        if (root == null) {
+            compare(key, key); // rejeita chaves nulas ou não comparáveis já na primeira inserção
+            root = new NodeMap<>(key, value);
+            size++;
+            return null;
+        }
+        NodeMap<K, V> current = root;
+        while (true) {
+            int cmp = compare(key, current.key);
+            if (cmp == 0) {
+                V previous = current.value;
+                current.value = value;
+                return previous;
+            }
+            NodeMap<K, V> next = cmp < 0 ? current.left : current.right;
+            if (next == null) {
+                if (cmp < 0) current.left = new NodeMap<>(key, value);
+                else current.right = new NodeMap<>(key, value);
+                size++;
+                return null;
+            }
+            current = next;
+        }
+    }
+
+    // Localiza o nó da chave (ou null)
+    private NodeMap<K, V> find(K key) {
+        NodeMap<K, V> current = root;
+        while (current != null) {
+            int cmp = compare(key, current.key);
+            if (cmp == 0) return current;
+            current = cmp < 0 ? current.left : current.right;
+        }
+        return null;
+    }
+
+    // Valor associado à chave (ou null se ela não existir)
+    public V get(K key) {
+        NodeMap<K, V> node = find(key);
+        return node != null ? node.value : null;
+    }
+
+    // Verifica se a chave existe
+    public boolean containsKey(K key) {
+        return find(key) != null;
+    }
+
+    // Remove a chave; retorna o valor que ela tinha (ou null se ela não existir)
+    public V remove(K key) {
+        NodeMap<K, V> parent = null;
+        NodeMap<K, V> current = root;
+        int cmp = 0;
+        while (current != null && (cmp = compare(key, current.key)) != 0) {
+            parent = current;
+            current = cmp < 0 ? current.left : current.right;
+        }
+        if (current == null) return null;
+        V removed = current.value;
+
+        // Caso 2: dois filhos - copia chave e valor do sucessor e passa a remover o sucessor
+        if (current.left != null && current.right != null) {
+            NodeMap<K, V> successorParent = current;
+            NodeMap<K, V> successor = current.right;
+            while (successor.left != null) {
+                successorParent = successor;
+                successor = successor.left;
+            }
+            current.key = successor.key;
+            current.value = successor.value;
+            parent = successorParent;
+            current = successor;
+        }
+
+        // Caso 1: nenhum ou um filho - o filho ocupa o lugar do nó
+        NodeMap<K, V> child = current.left != null ? current.left : current.right;
+        if (parent == null) root = child;
+        else if (parent.left == current) parent.left = child;
+        else parent.right = child;
+        size--;
+        return removed;
+    }
+
+    // Visita os pares em ordem crescente de chave
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        ArrayDeque<NodeMap<K, V>> stack = new ArrayDeque<>();
+        NodeMap<K, V> current = root;
+        while (current != null || !stack.isEmpty()) {
+            while (current != null) {
+                stack.push(current);
+                current = current.left;
+            }
+            current = stack.pop();
+            action.accept(current.key, current.value);
+            current = current.right;
+        }
+    }
+
+    // Impressão em ordem (esquerda, raiz, direita) no formato chave=valor
+    public void inorder() {
+        forEach((key, value) -> System.out.print(key + "=" + value + " "));
+        System.out.println();
+    }
+
+    // Calcula a altura da árvore percorrendo nível a nível
+    public int getHeight() {
+        if (root == null) return -1;
+        ArrayDeque<NodeMap<K, V>> queue = new ArrayDeque<>();
+        queue.add(root);
+        int height = -1;
+        while (!queue.isEmpty()) {
+            for (int i = queue.size(); i > 0; i--) {
+                NodeMap<K, V> node = queue.poll();
+                if (node.left != null) queue.add(node.left);
+                if (node.right != null) queue.add(node.right);
+            }
+            height++;
+        }
+        return height;
+    }
+
+    // Exemplo de uso com chaves String (ordem natural e comparador sem distinção de maiúsculas)
+    public static void main(String[] args) {
+        BinaryTreeMap<String, Integer> ages = new BinaryTreeMap<>();
+        ages.put("Maria", 31);
+        ages.put("João", 25);
+        ages.put("Ana", 40);
+        ages.put("Pedro", 19);
+        ages.put("João", 26); // substitui o valor anterior
+        System.out.println("Mapa em ordem:");
+        ages.inorder();
+        System.out.println("Idade de Ana: " + ages.get("Ana"));
+        System.out.println("Removido Maria: " + ages.remove("Maria"));
+        ages.inorder();
+
+        BinaryTreeMap<String, String> names = new BinaryTreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        names.put("beta", "b");
+        names.put("Alfa", "a");
+        names.put("BETA", "B");
+        System.out.println("\nSem distinção de maiúsculas (" + names.size() + " chaves):");
+        names.inorder();
+    }
+}
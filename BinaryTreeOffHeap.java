@@ -0,0 +1,409 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+// Árvore binária de busca fora do heap: os nós são registros de tamanho fixo num ByteBuffer direto
+// ou num arquivo mapeado em memória, que pode ser reaberto sem reinserir as chaves
+public class BinaryTreeOffHeap implements AutoCloseable {
+    private static final int NIL = -1; // deslocamento que representa a ausência de nó
+
+    // Cabeçalho no início do buffer
+    private static final int ROOT = 0; // deslocamento da raiz
+    private static final int FREE_HEAD = 4; // primeiro registro da lista de livres
+    private static final int USED = 8; // fim da área já ocupada alguma vez
+    private static final int SIZE = 12; // quantidade de nós
+    private static final int MAGIC = 16; // identifica arquivos gravados por esta classe
+    private static final int HEADER_SIZE = 20;
+    private static final int MAGIC_VALUE = 0x41424231; // "ABB1"
+
+    // Layout de cada registro: chave, filho esquerdo e filho direito (deslocamentos em bytes)
+    private static final int KEY = 0;
+    private static final int LEFT = 4;
+    private static final int RIGHT = 8;
+    private static final int RECORD_SIZE = 12;
+
+    private ByteBuffer buffer; // memória nativa com cabeçalho + registros
+    private final FileChannel channel; // arquivo mapeado (null quando a árvore vive só na memória)
+
+    public BinaryTreeOffHeap() {
+        this(1024);
+    }
+
+    // Reserva espaço para a quantidade de nós informada
+    public BinaryTreeOffHeap(int initialNodes) {
+        this.channel = null;
+        this.buffer = allocate(bytesFor(initialNodes));
+        initHeader();
+    }
+
+    private BinaryTreeOffHeap(FileChannel channel, ByteBuffer buffer) {
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    // Abre (ou cria) uma árvore persistida no arquivo: a reabertura só mapeia o arquivo,
+    // sem reinserir nada, e as páginas são carregadas pelo sistema operacional sob demanda
+    public static BinaryTreeOffHeap open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long length = channel.size();
+        if (length == 0) {
+            BinaryTreeOffHeap tree = new BinaryTreeOffHeap(channel, map(channel, bytesFor(1024)));
+            tree.initHeader();
+            return tree;
+        }
+        if (length < HEADER_SIZE || length > Integer.MAX_VALUE) {
+            channel.close();
+            throw new IOException("Arquivo não contém uma árvore: " + file);
+        }
+        ByteBuffer buffer = map(channel, length);
+        if (buffer.getInt(MAGIC) != MAGIC_VALUE) {
+            channel.close();
+            throw new IOException("Arquivo não contém uma árvore: " + file);
+        }
+        String problem = checkHeader(buffer);
+        if (problem != null) {
+            channel.close();
+            throw new IOException("Arquivo de árvore corrompido ou truncado (" + problem + "): " + file);
+        }
+        return new BinaryTreeOffHeap(channel, buffer);
+    }
+
+    // Confere o cabeçalho contra o tamanho do arquivo: a área usada cabe no arquivo e termina num
+    // limite de registro, e a raiz e a lista de livres apontam para registros dessa área. Os
+    // filhos não são percorridos, para a abertura continuar O(1). Devolve o problema ou null
+    private static String checkHeader(ByteBuffer buffer) {
+        int used = buffer.getInt(USED);
+        if (used < HEADER_SIZE || used > buffer.capacity() || (used - HEADER_SIZE) % RECORD_SIZE != 0) {
+            return "área usada " + used + " fora do arquivo de " + buffer.capacity() + " bytes";
+        }
+        int root = buffer.getInt(ROOT);
+        if (root != NIL && !isRecord(root, used)) return "raiz " + root + " fora da área usada";
+        int free = buffer.getInt(FREE_HEAD);
+        if (free != NIL && !isRecord(free, used)) return "lista de livres " + free + " fora da área usada";
+        int size = buffer.getInt(SIZE);
+        if (size < 0 || size > (used - HEADER_SIZE) / RECORD_SIZE || (size == 0) != (root == NIL)) {
+            return "quantidade de nós " + size + " incoerente";
+        }
+        return null;
+    }
+
+    // O deslocamento é o início de um registro dentro de [HEADER_SIZE, used)
+    private static boolean isRecord(int offset, int used) {
+        return offset >= HEADER_SIZE && offset < used && (offset - HEADER_SIZE) % RECORD_SIZE == 0;
+    }
+
+    private static long bytesFor(int nodes) {
+        return HEADER_SIZE + (long) Math.max(nodes, 1) * RECORD_SIZE;
+    }
+
+    private static ByteBuffer allocate(long bytes) {
+        checkLimit(bytes);
+        return ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static ByteBuffer map(FileChannel channel, long bytes) throws IOException {
+        checkLimit(bytes);
+        return channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static void checkLimit(long bytes) {
+        if (bytes > Integer.MAX_VALUE) throw new IllegalStateException("Árvore excede o limite de 2 GB do ByteBuffer");
+    }
+
+    private void initHeader() {
+        buffer.putInt(ROOT, NIL);
+        buffer.putInt(FREE_HEAD, NIL);
+        buffer.putInt(USED, HEADER_SIZE);
+        buffer.putInt(SIZE, 0);
+        buffer.putInt(MAGIC, MAGIC_VALUE);
+    }
+
+    // Grava no disco as páginas alteradas do arquivo mapeado
+    public void force() {
+        if (channel != null) ((MappedByteBuffer) buffer).force();
+    }
+
+    // Fecha o arquivo mapeado; a árvore não deve mais ser usada depois disso
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            force();
+            channel.close();
+        }
+    }
+
+    // Quantidade de nós na árvore
+    public int size() {
+        return buffer.getInt(SIZE);
+    }
+
+    // Bytes de memória nativa reservados
+    public int capacityBytes() {
+        return buffer.capacity();
+    }
+
+    private int key(int node) {
+        return buffer.getInt(node + KEY);
+    }
+
+    private int left(int node) {
+        return buffer.getInt(node + LEFT);
+    }
+
+    private int right(int node) {
+        return buffer.getInt(node + RIGHT);
+    }
+
+    private void setLeft(int node, int child) {
+        buffer.putInt(node + LEFT, child);
+    }
+
+    private void setRight(int node, int child) {
+        buffer.putInt(node + RIGHT, child);
+    }
+
+    // Reaproveita um registro livre ou ocupa o próximo registro nunca usado
+    private int allocateNode(int value) {
+        int node = buffer.getInt(FREE_HEAD);
+        if (node != NIL) {
+            buffer.putInt(FREE_HEAD, right(node));
+        } else {
+            node = buffer.getInt(USED);
+            if (node + RECORD_SIZE > buffer.capacity()) grow();
+            buffer.putInt(USED, node + RECORD_SIZE);
+        }
+        buffer.putInt(node + KEY, value);
+        setLeft(node, NIL);
+        setRight(node, NIL);
+        buffer.putInt(SIZE, size() + 1);
+        return node;
+    }
+
+    // Devolve o registro para a lista de livres (encadeada pelo campo do filho direito)
+    private void releaseNode(int node) {
+        setLeft(node, NIL);
+        setRight(node, buffer.getInt(FREE_HEAD));
+        buffer.putInt(FREE_HEAD, node);
+        buffer.putInt(SIZE, size() - 1);
+    }
+
+    // Dobra a área de registros: em memória copia o conteúdo, em arquivo só estende e remapeia
+    private void grow() {
+        long bytes = HEADER_SIZE + 2L * (buffer.capacity() - HEADER_SIZE);
+        if (channel != null) {
+            try {
+                buffer = map(channel, bytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return;
+        }
+        ByteBuffer larger = allocate(bytes);
+        buffer.clear();
+        larger.put(buffer);
+        buffer = larger;
+    }
+
+    // Insere um valor na árvore (valores repetidos seguem para a direita)
+    public void insert(int value) {
+        int node = allocateNode(value);
+        int current = buffer.getInt(ROOT);
+        if (current == NIL) {
+            buffer.putInt(ROOT, node);
+            return;
+        }
+        while (true) {
+            if (value < key(current)) {
+                if (left(current) == NIL) {
+                    setLeft(current, node);
+                    return;
+                }
+                current = left(current);
+            } else {
+                if (right(current) == NIL) {
+                    setRight(current, node);
+                    return;
+                }
+                current = right(current);
+            }
+        }
+    }
+
+    // Remove um valor da árvore
+    public void remove(int value) {
+        int parent = NIL;
+        int current = buffer.getInt(ROOT);
+        while (current != NIL && key(current) != value) {
+            parent = current;
+            current = value < key(current) ? left(current) : right(current);
+        }
+        if (current == NIL) return;
+
+        // Caso 2: nó com dois filhos - copia o sucessor e passa a remover o sucessor
+        if (left(current) != NIL && right(current) != NIL) {
+            int successorParent = current;
+            int successor = right(current);
+            while (left(successor) != NIL) {
+                successorParent = successor;
+                successor = left(successor);
+            }
+            buffer.putInt(current + KEY, key(successor));
+            parent = successorParent;
+            current = successor;
+        }
+
+        // Caso 1: nó com um ou nenhum filho - o filho ocupa o lugar do nó
+        int child = left(current) != NIL ? left(current) : right(current);
+        if (parent == NIL) buffer.putInt(ROOT, child);
+        else if (left(parent) == current) setLeft(parent, child);
+        else setRight(parent, child);
+        releaseNode(current);
+    }
+
+    // Verifica se um valor existe na árvore
+    public boolean search(int value) {
+        int current = buffer.getInt(ROOT);
+        while (current != NIL && key(current) != value) {
+            current = value < key(current) ? left(current) : right(current);
+        }
+        return current != NIL;
+    }
+
+    // Retorna o nível (profundidade) de um nó com valor específico
+    public int getNodeLevel(int value) {
+        int current = buffer.getInt(ROOT);
+        int level = 0;
+        while (current != NIL) {
+            if (key(current) == value) return level;
+            current = value < key(current) ? left(current) : right(current);
+            level++;
+        }
+        return -1;
+    }
+
+    // Impressão em ordem (esquerda, raiz, direita), com pilha de deslocamentos
+    public void inorder() {
+        int[] stack = new int[Math.max(size(), 1)];
+        int top = 0;
+        int current = buffer.getInt(ROOT);
+        while (current != NIL || top > 0) {
+            while (current != NIL) {
+                stack[top++] = current;
+                current = left(current);
+            }
+            current = stack[--top];
+            System.out.print(key(current) + " ");
+            current = right(current);
+        }
+        System.out.println();
+    }
+
+    // Impressão pré-ordem (raiz, esquerda, direita)
+    public void preorder() {
+        int[] stack = new int[Math.max(size(), 1)];
+        int top = 0;
+        if (buffer.getInt(ROOT) != NIL) stack[top++] = buffer.getInt(ROOT);
+        while (top > 0) {
+            int current = stack[--top];
+            System.out.print(key(current) + " ");
+            if (right(current) != NIL) stack[top++] = right(current);
+            if (left(current) != NIL) stack[top++] = left(current);
+        }
+        System.out.println();
+    }
+
+    // Impressão pós-ordem (esquerda, direita, raiz)
+    public void postorder() {
+        int[] stack = new int[Math.max(size(), 1)];
+        int top = 0;
+        int current = buffer.getInt(ROOT);
+        int lastVisited = NIL;
+        while (current != NIL || top > 0) {
+            while (current != NIL) {
+                stack[top++] = current;
+                current = left(current);
+            }
+            int peek = stack[top - 1];
+            if (right(peek) != NIL && right(peek) != lastVisited) {
+                current = right(peek);
+            } else {
+                System.out.print(key(peek) + " ");
+                lastVisited = stack[--top];
+            }
+        }
+        System.out.println();
+    }
+
+    // Calcula a altura da árvore percorrendo nível a nível
+    public int getHeight() {
+        int root = buffer.getInt(ROOT);
+        if (root == NIL) return -1;
+        int[] queue = new int[size()];
+        int head = 0, tail = 0;
+        queue[tail++] = root;
+        int height = -1;
+        while (head < tail) {
+            int levelEnd = tail;
+            while (head < levelEnd) {
+                int current = queue[head++];
+                if (left(current) != NIL) queue[tail++] = left(current);
+                if (right(current) != NIL) queue[tail++] = right(current);
+            }
+            height++;
+        }
+        return height;
+    }
+
+    // Função principal com exemplos de uso da árvore
+    public static void main(String[] args) throws IOException {
+        BinaryTreeOffHeap tree = new BinaryTreeOffHeap(4);
+        int[] values = {50, 30, 70, 20, 40, 60, 80};
+        for (int value : values) tree.insert(value);
+
+        System.out.println("Percurso em ordem:");
+        tree.inorder();
+        System.out.println("Percurso pré-ordem:");
+        tree.preorder();
+        System.out.println("Percurso pós-ordem:");
+        tree.postorder();
+        System.out.println("Altura da árvore: " + tree.getHeight());
+        System.out.println("Busca por 40: " + tree.search(40));
+
+        System.out.println("Removendo 20 e 30...");
+        tree.remove(20);
+        tree.remove(30);
+        tree.inorder();
+
+        // Carga maior: o heap só guarda o objeto ByteBuffer, os nós ficam em memória nativa
+        int n = 2000000;
+        BinaryTreeOffHeap big = new BinaryTreeOffHeap();
+        Random rand = new Random(42);
+        for (int i = 0; i < n; i++) big.insert(rand.nextInt());
+        Runtime runtime = Runtime.getRuntime();
+        System.out.println("\n" + big.size() + " chaves em " + (big.capacityBytes() / 1024) + " KB fora do heap");
+        System.out.println("Heap em uso: " + ((runtime.totalMemory() - runtime.freeMemory()) / 1024) + " KB");
+        System.out.println("Altura da árvore: " + big.getHeight());
+
+        // Persistência: a primeira execução grava o arquivo, as seguintes apenas o reabrem
+        Path file = Paths.get(args.length > 0 ? args[0] : "arvore.bin");
+        long start = System.nanoTime();
+        try (BinaryTreeOffHeap stored = open(file)) {
+            long openMicros = (System.nanoTime() - start) / 1000;
+            if (stored.size() == 0) {
+                for (int i = 0; i < n; i++) stored.insert(rand.nextInt());
+                System.out.println("\nArquivo " + file + " criado com " + stored.size() + " chaves");
+            } else {
+                System.out.println("\nArquivo " + file + " reaberto em " + openMicros + " µs com " + stored.size() + " chaves");
+                System.out.println("Altura da árvore: " + stored.getHeight());
+            }
+        }
+    }
+}
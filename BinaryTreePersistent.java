@@ -0,0 +1,181 @@
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Nó imutável: depois de criado nunca é alterado, por isso pode ser compartilhado entre versões
+final class NodePersistent {
+    final int data; // valor armazenado no nó
+    final NodePersistent left, right; // filhos esquerdo e direito
+
+    public NodePersistent(int data, NodePersistent left, NodePersistent right) {
+        this.data = data;
+        this.left = left;
+        this.right = right;
+    }
+}
+
+// Árvore binária de busca persistente: insert e remove não alteram a árvore atual, devolvem uma
+// nova versão que copia apenas o caminho da raiz até o ponto alterado e compartilha o restante.
+// Qualquer versão pode ser lida por várias threads sem travas; versões antigas somem com o GC
+public final class BinaryTreePersistent {
+    private static final BinaryTreePersistent EMPTY = new BinaryTreePersistent(null, 0);
+
+    private final NodePersistent root; // raiz desta versão
+    private final int size; // quantidade de nós desta versão
+
+    private BinaryTreePersistent(NodePersistent root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    // Versão vazia, ponto de partida para todas as outras
+    public static BinaryTreePersistent empty() {
+        return EMPTY;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Devolve uma nova versão com o valor inserido (valores repetidos seguem para a direita)
+    public BinaryTreePersistent insert(int value) {
+        ArrayDeque<NodePersistent> path = new ArrayDeque<>();
+        NodePersistent current = root;
+        while (current != null) {
+            path.push(current);
+            current = value < current.data ? current.left : current.right;
+        }
+        NodePersistent copy = new NodePersistent(value, null, null);
+        return new BinaryTreePersistent(copyPath(path, value, copy), size + 1);
+    }
+
+    // Devolve uma nova versão sem uma ocorrência do valor (ou esta mesma, se o valor não existir)
+    public BinaryTreePersistent remove(int value) {
+        ArrayDeque<NodePersistent> path = new ArrayDeque<>();
+        NodePersistent current = root;
+        while (current != null && current.data != value) {
+            path.push(current);
+            current = value < current.data ? current.left : current.right;
+        }
+        if (current == null) return this;
+
+        NodePersistent replacement;
+        if (current.left == null) {
+            replacement = current.right; // Caso 1: nenhum ou só o filho direito
+        } else if (current.right == null) {
+            replacement = current.left; // Caso 1: só o filho esquerdo
+        } else {
+            // Caso 2: dois filhos - um novo nó recebe o valor do sucessor, que sai da subárvore direita
+            ArrayDeque<NodePersistent> successorPath = new ArrayDeque<>();
+            NodePersistent successor = current.right;
+            while (successor.left != null) {
+                successorPath.push(successor);
+                successor = successor.left;
+            }
+            NodePersistent newRight = successor.right;
+            while (!successorPath.isEmpty()) {
+                NodePersistent node = successorPath.pop();
+                newRight = new NodePersistent(node.data, newRight, node.right);
+            }
+            replacement = new NodePersistent(successor.data, current.left, newRight);
+        }
+        return new BinaryTreePersistent(copyPath(path, value, replacement), size - 1);
+    }
+
+    // Recria, de baixo para cima, os nós do caminho percorrido apontando para a nova subárvore
+    private static NodePersistent copyPath(ArrayDeque<NodePersistent> path, int value, NodePersistent child) {
+        while (!path.isEmpty()) {
+            NodePersistent node = path.pop();
+            child = value < node.data
+                    ? new NodePersistent(node.data, child, node.right)
+                    : new NodePersistent(node.data, node.left, child);
+        }
+        return child;
+    }
+
+    // Verifica se um valor existe nesta versão
+    public boolean search(int value) {
+        NodePersistent node = root;
+        while (node != null && node.data != value) {
+            node = value < node.data ? node.left : node.right;
+        }
+        return node != null;
+    }
+
+    // Retorna o nível (profundidade) de um nó com valor específico
+    public int getNodeLevel(int value) {
+        NodePersistent node = root;
+        int level = 0;
+        while (node != null) {
+            if (node.data == value) return level;
+            node = value < node.data ? node.left : node.right;
+            level++;
+        }
+        return -1;
+    }
+
+    // Calcula a altura da árvore percorrendo nível a nível
+    public int getHeight() {
+        if (root == null) return -1;
+        ArrayDeque<NodePersistent> queue = new ArrayDeque<>();
+        queue.add(root);
+        int height = -1;
+        while (!queue.isEmpty()) {
+            for (int i = queue.size(); i > 0; i--) {
+                NodePersistent node = queue.poll();
+                if (node.left != null) queue.add(node.left);
+                if (node.right != null) queue.add(node.right);
+            }
+            height++;
+        }
+        return height;
+    }
+
+    // Impressão em ordem (esquerda, raiz, direita)
+    public void inorder() {
+        ArrayDeque<NodePersistent> stack = new ArrayDeque<>();
+        NodePersistent current = root;
+        while (current != null || !stack.isEmpty()) {
+            while (current != null) {
+                stack.push(current);
+                current = current.left;
+            }
+            current = stack.pop();
+            System.out.print(current.data + " ");
+            current = current.right;
+        }
+        System.out.println();
+    }
+
+    // Exemplo de uso: versões independentes e leitura concorrente de um instantâneo
+    public static void main(String[] args) throws InterruptedException {
+        BinaryTreePersistent v1 = empty();
+        int[] values = {50, 30, 70, 20, 40, 60, 80};
+        for (int value : values) v1 = v1.insert(value);
+
+        BinaryTreePersistent v2 = v1.remove(30).remove(20);
+        BinaryTreePersistent v3 = v2.insert(35);
+
+        System.out.println("Versão 1:");
+        v1.inorder();
+        System.out.println("Versão 2 (sem 20 e 30):");
+        v2.inorder();
+        System.out.println("Versão 3 (versão 2 + 35):");
+        v3.inorder();
+
+        // Um escritor publica versões novas enquanto o leitor percorre o instantâneo que pegou
+        AtomicReference<BinaryTreePersistent> current = new AtomicReference<>(empty());
+        for (int i = 0; i < 100000; i++) current.set(current.get().insert((i * 7919) % 100000));
+
+        BinaryTreePersistent snapshot = current.get();
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 100000; i += 2) current.set(current.get().remove(i));
+        });
+        writer.start();
+        int found = 0;
+        for (int i = 0; i < 100000; i++) if (snapshot.search(i)) found++;
+        writer.join();
+
+        System.out.println("\nValores vistos pelo leitor no instantâneo: " + found + " de " + snapshot.size());
+        System.out.println("Tamanho da versão publicada depois do escritor: " + current.get().size());
+    }
+}
@@ -1,9 +1,17 @@
+import java.util.ArrayDeque;  // Importa a classe ArrayDeque usada como pilha e fila nos percursos
+import java.util.Arrays;  // Importa a classe Arrays para aumentar o vetor do caminho
 import java.util.Random;  // Importa a classe Random para gerar números aleatórios
 
 // Classe que representa um nó da árvore
 class NodeRandom {
     int data;  // Valor armazenado no nó
+    int count = 1;  // Ocorrências do valor (só passa de 1 no modo multiconjunto)
     NodeRandom left, right;  // Referências para os filhos esquerdo e direito
+    // Propriedades da subárvore, mantidas a cada alteração no caminho até a raiz
+    int height = 1;  // Quantidade de níveis (1 para uma folha, como em height())
+    int oneChild;  // Nós com exatamente um filho
+    boolean perfect = true;  // Todos os níveis cheios
+    boolean complete = true;  // Níveis cheios, exceto o último, preenchido da esquerda para a direita
 
     // Construtor que inicializa o nó com um valor
     public NodeRandom(int data) {
@@ -11,90 +19,247 @@ class NodeRandom {
         this.left = null;  // Filho esquerdo inicializado como nulo
         this.right = null;  // Filho direito inicializado como nulo
     }
+
+    // Recalcula as propriedades a partir das dos filhos (que precisam estar atualizadas)
+    void update() {
+        int leftHeight = left != null ? left.height : 0;
+        int rightHeight = right != null ? right.height : 0;
+        boolean leftPerfect = left == null || left.perfect;
+        boolean rightPerfect = right == null || right.perfect;
+        height = 1 + Math.max(leftHeight, rightHeight);
+        oneChild = (left != null ? left.oneChild : 0) + (right != null ? right.oneChild : 0)
+                + ((left == null) != (right == null) ? 1 : 0);
+        perfect = leftPerfect && rightPerfect && leftHeight == rightHeight;
+        // Completa: esquerda perfeita e direita completa da mesma altura, ou esquerda completa
+        // um nível mais alta que a direita perfeita
+        complete = leftHeight == rightHeight
+                ? leftPerfect && (right == null || right.complete)
+                : leftHeight == rightHeight + 1 && left.complete && rightPerfect;
+    }
 }
 
 // Classe principal da árvore binária
 public class BinaryTreeRandom {
     private NodeRandom root;  // Raiz da árvore
+    // No modo multiconjunto um valor repetido só incrementa o contador do nó existente,
+    // em vez de criar outro nó na subárvore direita
+    private final boolean multiset;
+    private NodeRandom[] path = new NodeRandom[64];  // Ancestrais do ponto alterado, reaproveitado entre operações
+
+    // Cria a árvore no modo original (valores repetidos viram novos nós à direita)
+    public BinaryTreeRandom() {
+        this(false);
+    }
+
+    // Cria a árvore escolhendo o modo de tratamento dos valores repetidos
+    public BinaryTreeRandom(boolean multiset) {
+        this.multiset = multiset;
+    }
+
+    // Guarda o nó na posição "depth" do caminho, aumentando o vetor quando preciso
+    private void remember(int depth, NodeRandom node) {
+        if (depth == path.length) path = Arrays.copyOf(path, depth * 2);
+        path[depth] = node;
+    }
+
+    // Atualiza as propriedades de path[count-1] até path[0], de baixo para cima. Quando a altura e
+    // as marcas de um nó não mudam, as dos ancestrais também não: dali para cima basta somar a
+    // diferença de nós com um filho, sem ler as subárvores irmãs
+    private void refreshPath(int count) {
+        for (int i = count - 1; i >= 0; i--) {
+            NodeRandom node = path[i];
+            int height = node.height, oneChild = node.oneChild;
+            boolean perfect = node.perfect, complete = node.complete;
+            node.update();
+            if (height == node.height && perfect == node.perfect && complete == node.complete) {
+                int oneChildDelta = node.oneChild - oneChild;
+                for (int j = i - 1; j >= 0; j--) path[j].oneChild += oneChildDelta;
+                return;
+            }
+        }
+    }
 
     // Método para inserir um valor na árvore
     public void insert(int value) {
-        root = insertRec(root, value);  // Chama o método recursivo para inserir o valor
+        if (root == null) {  // Se a árvore estiver vazia, o novo nó vira a raiz
+            root = new NodeRandom(value);
+            return;
+        }
+        NodeRandom current = root;  // Desce a partir da raiz sem recursão
+        int depth = 0;  // Quantidade de ancestrais guardados no caminho
+        while (true) {
+            if (multiset && value == current.data) {  // Valor repetido: conta mais uma ocorrência, sem alocar
+                current.count++;
+                return;  // A forma da árvore não muda
+            }
+            remember(depth++, current);
+            if (value < current.data) {  // Se o valor for menor, segue à esquerda
+                if (current.left == null) {  // Achou a posição livre
+                    current.left = new NodeRandom(value);
+                    break;
+                }
+                current = current.left;
+            } else {  // Se o valor for maior ou igual, segue à direita
+                if (current.right == null) {  // Achou a posição livre
+                    current.right = new NodeRandom(value);
+                    break;
+                }
+                current = current.right;
+            }
+        }
+        refreshPath(depth);  // Atualiza as propriedades dos ancestrais do novo nó
     }
 
-    // Método recursivo para inserir um valor na árvore
-    private NodeRandom insertRec(NodeRandom root, int value) {
-        if (root == null) return new NodeRandom(value);  // Se a raiz for nula, cria um novo nó
-        if (value < root.data) root.left = insertRec(root.left, value);  // Se o valor for menor, insere à esquerda
-        else root.right = insertRec(root.right, value);  // Se o valor for maior, insere à direita
-        return root;  // Retorna a raiz após a inserção
+    // Método para contar as ocorrências de um valor
+    public int count(int key) {
+        int total = 0;
+        NodeRandom node = root;
+        while (node != null) {
+            if (node.data == key) total += node.count;  // Soma o contador (no modo original cada cópia vale 1)
+            // Cópias iguais ficam sempre à direita; no modo multiconjunto a descida termina sem achar outra
+            node = key < node.data ? node.left : node.right;
+        }
+        return total;
     }
 
-    // Método para realizar o percurso em ordem (in-order)
-    public void inorder() {
-        inorderRec(root);  // Chama o método recursivo para o percurso em ordem
-        System.out.println();  // Nova linha após o percurso
+    // Método para remover uma ocorrência de um valor; retorna false se ele não existir
+    public boolean removeOne(int key) {
+        NodeRandom node = root;
+        int depth = 0;
+        while (node != null && node.data != key) {  // Desce até a primeira cópia do valor
+            remember(depth++, node);
+            node = key < node.data ? node.left : node.right;
+        }
+        if (node == null) return false;  // Valor não encontrado
+        if (node.count > 1) {  // Ainda restam outras ocorrências no mesmo nó
+            node.count--;
+        } else {
+            unlink(depth, node);  // Era a última ocorrência do nó: retira o nó da árvore
+        }
+        return true;
     }
 
-    // Método recursivo para percurso em ordem (in-order)
-    private void inorderRec(NodeRandom root) {
-        if (root != null) {  // Se o nó não for nulo
-            inorderRec(root.left);  // Percorre a subárvore esquerda
-            System.out.print(root.data + " ");  // Imprime o valor do nó
-            inorderRec(root.right);  // Percorre a subárvore direita
+    // Método para remover todas as ocorrências de um valor; retorna quantas foram removidas
+    public int removeAllOccurrences(int key) {
+        int removed = 0;
+        while (true) {
+            NodeRandom node = root;
+            int depth = 0;
+            while (node != null && node.data != key) {  // Desce até uma cópia do valor
+                remember(depth++, node);
+                node = key < node.data ? node.left : node.right;
+            }
+            if (node == null) return removed;  // Não resta nenhuma cópia
+            removed += node.count;  // O nó leva todas as suas ocorrências de uma vez
+            unlink(depth, node);  // No modo original repete para as cópias em outros nós
         }
     }
 
-    // Método para realizar o percurso pré-ordem (pre-order)
-    public void preorder() {
-        preorderRec(root);  // Chama o método recursivo para o percurso pré-ordem
-        System.out.println();  // Nova linha após o percurso
+    // Retira um nó da árvore; path[0..depth) guarda os ancestrais dele (vazio quando é a raiz)
+    private void unlink(int depth, NodeRandom node) {
+        if (node.left != null && node.right != null) {  // Dois filhos: usa o sucessor (menor da direita)
+            remember(depth++, node);
+            NodeRandom successor = node.right;
+            while (successor.left != null) {
+                remember(depth++, successor);
+                successor = successor.left;
+            }
+            node.data = successor.data;  // Copia valor e contador do sucessor para o nó
+            node.count = successor.count;
+            node = successor;  // Passa a retirar o sucessor, que tem no máximo um filho
+        }
+        NodeRandom parent = depth > 0 ? path[depth - 1] : null;
+        NodeRandom child = node.left != null ? node.left : node.right;  // Filho que sobe no lugar do nó
+        if (parent == null) root = child;
+        else if (parent.left == node) parent.left = child;
+        else parent.right = child;
+        refreshPath(depth);  // Atualiza as propriedades do pai até a raiz
     }
 
-    // Método recursivo para percurso pré-ordem (pre-order)
-    private void preorderRec(NodeRandom root) {
-        if (root != null) {  // Se o nó não for nulo
-            System.out.print(root.data + " ");  // Imprime o valor do nó
-            preorderRec(root.left);  // Percorre a subárvore esquerda
-            preorderRec(root.right);  // Percorre a subárvore direita
+    // Método para realizar o percurso em ordem (in-order) com pilha explícita
+    public void inorder() {
+        ArrayDeque<NodeRandom> stack = new ArrayDeque<>();  // Pilha de nós pendentes
+        NodeRandom current = root;
+        while (current != null || !stack.isEmpty()) {
+            while (current != null) {  // Empilha todo o caminho à esquerda
+                stack.push(current);
+                current = current.left;
+            }
+            current = stack.pop();  // Visita o nó mais à esquerda pendente
+            for (int c = 0; c < current.count; c++) System.out.print(current.data + " ");  // Imprime cada ocorrência
+            current = current.right;  // Passa para a subárvore direita
         }
+        System.out.println();  // Nova linha após o percurso
     }
 
-    // Método para realizar o percurso pós-ordem (post-order)
-    public void postorder() {
-        postorderRec(root);  // Chama o método recursivo para o percurso pós-ordem
+    // Método para realizar o percurso pré-ordem (pre-order) com pilha explícita
+    public void preorder() {
+        if (root != null) {
+            ArrayDeque<NodeRandom> stack = new ArrayDeque<>();  // Pilha de nós pendentes
+            stack.push(root);
+            while (!stack.isEmpty()) {
+                NodeRandom node = stack.pop();
+                for (int c = 0; c < node.count; c++) System.out.print(node.data + " ");  // Imprime cada ocorrência
+                if (node.right != null) stack.push(node.right);  // A direita é empilhada primeiro...
+                if (node.left != null) stack.push(node.left);  // ...para a esquerda sair antes
+            }
+        }
         System.out.println();  // Nova linha após o percurso
     }
 
-    // Método recursivo para percurso pós-ordem (post-order)
-    private void postorderRec(NodeRandom root) {
-        if (root != null) {  // Se o nó não for nulo
-            postorderRec(root.left);  // Percorre a subárvore esquerda
-            postorderRec(root.right);  // Percorre a subárvore direita
-            System.out.print(root.data + " ");  // Imprime o valor do nó
+    // Método para realizar o percurso pós-ordem (post-order) com pilha explícita
+    public void postorder() {
+        ArrayDeque<NodeRandom> stack = new ArrayDeque<>();  // Pilha de nós pendentes
+        NodeRandom current = root;
+        NodeRandom lastVisited = null;  // Último nó impresso
+        while (current != null || !stack.isEmpty()) {
+            while (current != null) {  // Empilha todo o caminho à esquerda
+                stack.push(current);
+                current = current.left;
+            }
+            NodeRandom top = stack.peek();
+            if (top.right != null && top.right != lastVisited) {  // Ainda falta percorrer a direita
+                current = top.right;
+            } else {  // As duas subárvores já foram percorridas
+                for (int c = 0; c < top.count; c++) System.out.print(top.data + " ");  // Imprime cada ocorrência
+                lastVisited = stack.pop();
+            }
         }
+        System.out.println();  // Nova linha após o percurso
     }
 
-    // Método para calcular a altura da árvore
+    // Método para calcular a altura da árvore (quantidade de níveis), mantida pelos nós: O(1)
     public int height() {
-        return heightRec(root);  // Chama o método recursivo para calcular a altura
+        return root == null ? 0 : root.height;  // Se a árvore for vazia, a altura é 0
     }
 
-    // Método recursivo para calcular a altura da árvore
-    private int heightRec(NodeRandom root) {
-        if (root == null) return 0;  // Se o nó for nulo, a altura é 0
-        // Retorna 1 (para o nó atual) mais o máximo entre a altura da subárvore esquerda e direita
-        return 1 + Math.max(heightRec(root.left), heightRec(root.right));
+    // Altura por percurso nível a nível, usada só para conferir a mantida pelos nós
+    private int heightWalk() {
+        if (root == null) return 0;  // Se a árvore for vazia, a altura é 0
+        ArrayDeque<NodeRandom> queue = new ArrayDeque<>();  // Fila para percorrer nível a nível
+        queue.add(root);
+        int height = 0;
+        while (!queue.isEmpty()) {
+            for (int i = queue.size(); i > 0; i--) {  // Consome todos os nós do nível atual
+                NodeRandom node = queue.poll();
+                if (node.left != null) queue.add(node.left);
+                if (node.right != null) queue.add(node.right);
+            }
+            height++;  // Cada nível consumido soma 1 à altura
+        }
+        return height;
     }
 
     // Método para calcular o nível de um nó na árvore
     public int getLevel(NodeRandom root, int key, int level) {
-        if (root == null) return 0;  // Se o nó for nulo, retorna 0
-        if (root.data == key) return level;  // Se encontrou o nó, retorna o nível
-        // Chama recursivamente para a subárvore esquerda e direita, incrementando o nível
-        int res = getLevel(root.left, key, level + 1);
-        if (res != 0) return res;  // Se encontrou na esquerda, retorna o nível
-        return getLevel(root.right, key, level + 1);  // Caso contrário, verifica a subárvore direita
+        long found = lookup(root, key);  // Uma única descida ordenada a partir do nó informado
+        if (found < 0) return 0;  // Valor não encontrado, retorna 0
+        return level + (int) (found >>> 2);  // Soma a profundidade encontrada ao nível inicial
+    }
+
+    // Método para calcular o nível de um valor a partir da raiz (a raiz fica no nível 1, como no main)
+    public int getLevel(int key) {
+        return getLevel(root, key, 1);
     }
 
     // Método para calcular o grau de um nó (número de filhos)
@@ -105,66 +270,112 @@ public class BinaryTreeRandom {
         return degree;  // Retorna o grau do nó
     }
 
+    // Método para calcular o grau do nó com o valor informado (-1 se não existir)
+    public int degree(int key) {
+        long found = lookup(root, key);
+        return found < 0 ? -1 : (int) (found & 3);  // O grau fica nos 2 bits baixos
+    }
+
     // Método para buscar um valor na árvore
     public boolean search(int key) {
-        return searchRec(root, key);  // Chama o método recursivo para realizar a busca
+        return lookup(root, key) >= 0;  // A inserção mantém a ordenação, então basta descer um caminho
     }
 
-    // Método recursivo para buscar um valor na árvore
-    private boolean searchRec(NodeRandom root, int key) {
-        if (root == null) return false;  // Se o nó for nulo, retorna falso
-        if (root.data == key) return true;  // Se encontrou o valor, retorna verdadeiro
-        // Busca recursivamente nas subárvores esquerda e direita
-        return searchRec(root.left, key) || searchRec(root.right, key);
+    // Desce uma única vez pela ordenação (O(h)) e devolve nível e grau do nó encontrado
+    // empacotados num long: o nível nos bits altos e o grau nos 2 bits baixos (-1 se não existir)
+    private long lookup(NodeRandom start, int key) {
+        NodeRandom node = start;
+        long depth = 0;
+        while (node != null) {
+            if (node.data == key) {  // Encontrou: calcula o grau e empacota com a profundidade
+                int degree = (node.left != null ? 1 : 0) + (node.right != null ? 1 : 0);
+                return depth << 2 | degree;
+            }
+            node = key < node.data ? node.left : node.right;  // Menor à esquerda, maior ou igual à direita
+            depth++;
+        }
+        return -1;  // Chegou a uma folha sem encontrar
     }
 
-    // Método para verificar se a árvore é estritamente binária
+    // Método para verificar se a árvore é estritamente binária: nenhum nó com um filho só (O(1))
     public boolean isStrictlyBinary() {
-        return isStrictlyBinaryRec(root);  // Chama o método recursivo para verificar
+        return root == null || root.oneChild == 0;
     }
 
-    // Método recursivo para verificar se a árvore é estritamente binária
-    private boolean isStrictlyBinaryRec(NodeRandom root) {
-        if (root == null) return true;  // Se o nó for nulo, a árvore é estritamente binária
-        // Verifica se o nó tem exatamente dois filhos ou nenhum
-        if ((root.left == null && root.right != null) || (root.left != null && root.right == null))
-            return false;  // Se tiver um filho apenas, não é estritamente binária
-        return isStrictlyBinaryRec(root.left) && isStrictlyBinaryRec(root.right);  // Verifica recursivamente
+    // Estritamente binária por percurso, usada só para conferir a propriedade mantida
+    private boolean isStrictlyBinaryWalk() {
+        if (root == null) return true;  // Se a árvore for vazia, é estritamente binária
+        ArrayDeque<NodeRandom> stack = new ArrayDeque<>();  // Pilha de nós a verificar
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            NodeRandom node = stack.pop();
+            // Verifica se o nó tem exatamente dois filhos ou nenhum
+            if ((node.left == null && node.right != null) || (node.left != null && node.right == null))
+                return false;  // Se tiver um filho apenas, não é estritamente binária
+            if (node.left != null) {  // Tem os dois filhos: verifica ambos
+                stack.push(node.left);
+                stack.push(node.right);
+            }
+        }
+        return true;
     }
 
-    // Método para verificar se a árvore é completa
+    // Método para verificar se a árvore é completa, pela propriedade mantida na raiz (O(1))
     public boolean isComplete() {
-        int nodeCount = countNodes(root);  // Conta o número total de nós na árvore
-        return isCompleteRec(root, 0, nodeCount);  // Chama o método recursivo para verificar a completude
+        return root == null || root.complete;  // Se a árvore for vazia, é completa
     }
 
-    // Método recursivo para verificar se a árvore é completa
-    private boolean isCompleteRec(NodeRandom root, int index, int nodeCount) {
-        if (root == null) return true;  // Se o nó for nulo, retorna verdadeiro
-        if (index >= nodeCount) return false;  // Se o índice for maior ou igual ao número de nós, não é completa
-        // Verifica recursivamente nas subárvores esquerda e direita, com os índices correspondentes
-        return isCompleteRec(root.left, 2 * index + 1, nodeCount) &&
-               isCompleteRec(root.right, 2 * index + 2, nodeCount);
-    }
-
-    // Método para contar o número total de nós na árvore
-    private int countNodes(NodeRandom root) {
-        if (root == null) return 0;  // Se o nó for nulo, retorna 0
-        return 1 + countNodes(root.left) + countNodes(root.right);  // Conta o nó atual e as subárvores
+    // Completude por percurso, usada só para conferir a propriedade mantida
+    private boolean isCompleteWalk() {
+        if (root == null) return true;  // Se a árvore for vazia, é completa
+        ArrayDeque<NodeRandom> queue = new ArrayDeque<>();  // Fila para percorrer nível a nível
+        queue.add(root);
+        boolean gapSeen = false;  // Indica se já apareceu uma posição vazia
+        while (!queue.isEmpty()) {
+            NodeRandom node = queue.poll();
+            if (node.left == null) gapSeen = true;  // Posição vazia à esquerda
+            else if (gapSeen) return false;  // Um nó depois de uma posição vazia: não é completa
+            else queue.add(node.left);
+            if (node.right == null) gapSeen = true;  // Posição vazia à direita
+            else if (gapSeen) return false;  // Um nó depois de uma posição vazia: não é completa
+            else queue.add(node.right);
+        }
+        return true;
     }
 
     // Método para verificar se a árvore é cheia
     public boolean isFull() {
-        return isFullRec(root);  // Chama o método recursivo para verificar se a árvore é cheia
+        return isStrictlyBinary();  // Todo nó precisa ter exatamente dois filhos ou nenhum
     }
 
-    // Método recursivo para verificar se a árvore é cheia
-    private boolean isFullRec(NodeRandom root) {
-        if (root == null) return true;  // Se o nó for nulo, a árvore é cheia
-        // Verifica se o nó tem exatamente dois filhos ou nenhum
-        if ((root.left == null && root.right != null) || (root.left != null && root.right == null))
-            return false;  // Se tiver um filho apenas, não é cheia
-        return isFullRec(root.left) && isFullRec(root.right);  // Verifica recursivamente
+    // Confere as propriedades mantidas incrementalmente: cada nó é recalculado a partir dos filhos
+    // (em pós-ordem) e as respostas O(1) são comparadas com os percursos completos.
+    // Lança IllegalStateException na primeira divergência
+    public void verifyStructure() {
+        ArrayDeque<NodeRandom> stack = new ArrayDeque<>();
+        NodeRandom current = root;
+        NodeRandom lastVisited = null;
+        while (current != null || !stack.isEmpty()) {
+            while (current != null) {
+                stack.push(current);
+                current = current.left;
+            }
+            NodeRandom top = stack.peek();
+            if (top.right != null && top.right != lastVisited) {
+                current = top.right;
+                continue;
+            }
+            int height = top.height, oneChild = top.oneChild;
+            boolean perfect = top.perfect, complete = top.complete;
+            top.update();
+            if (height != top.height || oneChild != top.oneChild || perfect != top.perfect || complete != top.complete) {
+                throw new IllegalStateException("Propriedades desatualizadas no nó " + top.data);
+            }
+            lastVisited = stack.pop();
+        }
+        if (height() != heightWalk()) throw new IllegalStateException("Altura divergente");
+        if (isStrictlyBinary() != isStrictlyBinaryWalk()) throw new IllegalStateException("Estritamente binária divergente");
+        if (isComplete() != isCompleteWalk()) throw new IllegalStateException("Completude divergente");
     }
 
     // Método para remover todos os nós da árvore
@@ -202,7 +413,7 @@ public class BinaryTreeRandom {
 
         // Exemplo de Grau de um nó (usando o segundo número)
         int degreeValue = nums[1];
-        System.out.println("Grau do nó com valor " + degreeValue + ": " + tree.degree(tree.root));
+        System.out.println("Grau do nó com valor " + degreeValue + ": " + tree.degree(degreeValue));
 
         // Busca por um valor (usando o terceiro número)
         int searchValue = nums[2];
@@ -212,10 +423,22 @@ public class BinaryTreeRandom {
         System.out.println("A árvore é estritamente binária? " + tree.isStrictlyBinary());
         System.out.println("A árvore é completa? " + tree.isComplete());
         System.out.println("A árvore é cheia? " + tree.isFull());
+        tree.verifyStructure();  // Lança exceção se alguma propriedade mantida estiver errada
 
         // Removendo todos os nós
         tree.removeAll();  
         System.out.println("Árvore limpa. Percurso em ordem após remoção:");
         tree.inorder();  // Exibe o percurso após a remoção
+
+        // Modo multiconjunto: 1000 valores entre 0 e 9 ocupam no máximo 10 nós
+        BinaryTreeRandom multiset = new BinaryTreeRandom(true);
+        for (int i = 0; i < 1000; i++) multiset.insert(rand.nextInt(10));
+        System.out.println("\nMulticonjunto com 1000 valores entre 0 e 9, altura: " + multiset.height());
+        System.out.println("Ocorrências do valor 5: " + multiset.count(5));
+        multiset.removeOne(5);  // Remove uma única ocorrência
+        System.out.println("Ocorrências do valor 5 após removeOne: " + multiset.count(5));
+        System.out.println("Ocorrências removidas do valor 3: " + multiset.removeAllOccurrences(3));
+        System.out.println("Ocorrências do valor 3 agora: " + multiset.count(3));
+        multiset.verifyStructure();
     }
 }
@@ -0,0 +1,336 @@
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
+
+// Árvore dividida por faixas de chave: o espaço dos int é repartido em N partições, cada uma com a
+// própria BinaryTreeBalanced (AVL) e a própria trava de leitura e escrita. Escritores de faixas
+// diferentes não disputam a mesma trava nem os mesmos nós do topo. Quando as chaves se concentram
+// em poucas partições, rebalance() redistribui os limites pelos quantis dos valores armazenados
+public class BinaryTreeSharded {
+    private static final int SKEW_FACTOR = 4; // uma partição com mais que 4x a média dispara a redistribuição (com N >= 7)
+    private static final int CHECK_INTERVAL = 4096; // o desequilíbrio é conferido a cada 4096 valores numa partição
+    private static final int MIN_REBALANCE_SIZE = 1 << 16; // abaixo disso não vale a pena redistribuir
+
+    // Uma partição: árvore e trava próprias
+    private static final class Shard {
+        final BinaryTreeBalanced tree;
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        boolean retired; // alterado com a trava de escrita: a partição saiu de uso após rebalance()
+
+        Shard(BinaryTreeBalanced tree) {
+            this.tree = tree;
+        }
+    }
+
+    // Limites e partições publicados juntos: a partição i guarda as chaves de [bounds[i], bounds[i+1])
+    private static final class Layout {
+        final int[] bounds; // bounds[0] é sempre Integer.MIN_VALUE
+        final Shard[] shards;
+
+        Layout(int[] bounds, Shard[] shards) {
+            this.bounds = bounds;
+            this.shards = shards;
+        }
+
+        // Última partição cujo limite inferior é <= key
+        int route(long key) {
+            int lo = 0, hi = bounds.length - 1;
+            while (lo < hi) {
+                int middle = (lo + hi + 1) >>> 1;
+                if (bounds[middle] <= key) lo = middle;
+                else hi = middle - 1;
+            }
+            return lo;
+        }
+
+        // Maior chave da partição i
+        long end(int i) {
+            return i + 1 < bounds.length ? bounds[i + 1] - 1L : Integer.MAX_VALUE;
+        }
+    }
+
+    private final int partitions; // quantidade de partições pedida na construção
+    private volatile Layout layout;
+    private final LongAdder size = new LongAdder();
+    private final ReentrantLock rebalanceLock = new ReentrantLock(); // uma redistribuição por vez
+    private volatile int rebalances;
+
+    // Cria a árvore com o espaço dos int repartido igualmente em "partitions" faixas
+    public BinaryTreeSharded(int partitions) {
+        if (partitions < 1) throw new IllegalArgumentException("É preciso ao menos uma partição");
+        this.partitions = partitions;
+        int[] bounds = new int[partitions];
+        Shard[] shards = new Shard[partitions];
+        for (int i = 0; i < partitions; i++) {
+            bounds[i] = (int) (Integer.MIN_VALUE + (1L << 32) * i / partitions);
+            shards[i] = new Shard(new BinaryTreeBalanced());
+        }
+        layout = new Layout(bounds, shards);
+    }
+
+    // Trava a partição responsável pela chave; se rebalance() a aposentou no meio do caminho, tenta de novo
+    private Shard lockShard(int key, boolean write) {
+        while (true) {
+            Layout current = layout;
+            Shard shard = current.shards[current.route(key)];
+            Lock lock = write ? shard.lock.writeLock() : shard.lock.readLock();
+            lock.lock();
+            if (!shard.retired) return shard;
+            lock.unlock();
+        }
+    }
+
+    // Insere um valor (valores repetidos são aceitos, como na BinaryTreeBalanced)
+    public void insert(int value) {
+        Shard shard = lockShard(value, true);
+        boolean check;
+        try {
+            shard.tree.insert(value);
+            check = shard.tree.size() % CHECK_INTERVAL == 0;
+        } finally {
+            shard.lock.writeLock().unlock();
+        }
+        size.increment();
+        if (check) rebalanceIfSkewed();
+    }
+
+    // Remove uma ocorrência do valor; retorna false se ele não existir
+    public boolean remove(int value) {
+        Shard shard = lockShard(value, true);
+        try {
+            if (!shard.tree.search(value)) return false;
+            shard.tree.remove(value);
+        } finally {
+            shard.lock.writeLock().unlock();
+        }
+        size.decrement();
+        return true;
+    }
+
+    // Verifica se um valor existe
+    public boolean search(int value) {
+        Shard shard = lockShard(value, false);
+        try {
+            return shard.tree.search(value);
+        } finally {
+            shard.lock.readLock().unlock();
+        }
+    }
+
+    // Quantidade de valores (aproximada enquanto houver escritas simultâneas)
+    public int size() {
+        return size.intValue();
+    }
+
+    // Entrega em ordem crescente os valores de [lo, hi], partição por partição. Cada partição é lida
+    // sob a sua trava de leitura, então a ação não pode alterar esta árvore
+    public void forEachInRange(int lo, int hi, IntConsumer action) {
+        long from = lo;
+        while (from <= hi) {
+            Layout current = layout;
+            int i = current.route(from);
+            Shard shard = current.shards[i];
+            shard.lock.readLock().lock();
+            try {
+                if (shard.retired) continue; // redistribuída no meio da leitura: recomeça desta chave
+                long to = Math.min(hi, current.end(i));
+                shard.tree.forEachInRange((int) from, (int) to, action);
+                from = to + 1;
+            } finally {
+                shard.lock.readLock().unlock();
+            }
+        }
+    }
+
+    // Entrega todos os valores em ordem crescente
+    public void forEach(IntConsumer action) {
+        forEachInRange(Integer.MIN_VALUE, Integer.MAX_VALUE, action);
+    }
+
+    // Quantidade de valores em [lo, hi], usando as estatísticas de ordem de cada partição
+    public int countInRange(int lo, int hi) {
+        int count = 0;
+        long from = lo;
+        while (from <= hi) {
+            Layout current = layout;
+            int i = current.route(from);
+            Shard shard = current.shards[i];
+            shard.lock.readLock().lock();
+            try {
+                if (shard.retired) continue;
+                long to = Math.min(hi, current.end(i));
+                count += shard.tree.countInRange((int) from, (int) to);
+                from = to + 1;
+            } finally {
+                shard.lock.readLock().unlock();
+            }
+        }
+        return count;
+    }
+
+    // Quantidade de valores em cada partição
+    public int[] shardSizes() {
+        Shard[] shards = layout.shards;
+        int[] sizes = new int[shards.length];
+        for (int i = 0; i < shards.length; i++) sizes[i] = sizeOf(shards[i]);
+        return sizes;
+    }
+
+    // Limites inferiores atuais das partições
+    public int[] bounds() {
+        return layout.bounds.clone();
+    }
+
+    public int getRebalanceCount() {
+        return rebalances;
+    }
+
+    private static int sizeOf(Shard shard) {
+        shard.lock.readLock().lock();
+        try {
+            return shard.tree.size();
+        } finally {
+            shard.lock.readLock().unlock();
+        }
+    }
+
+    // Redistribui quando alguma partição passa de SKEW_FACTOR vezes a média
+    private void rebalanceIfSkewed() {
+        if (rebalanceLock.isLocked() || !isSkewed()) return;
+        rebalance(true);
+    }
+
+    // Com N partições, 4x a média só pode ser ultrapassado se N > 4; o fator cai para (N+1)/2 com
+    // poucas partições (N = 2 exige mais de 3/4 do total numa delas; N = 1 nunca está desequilibrada).
+    // Uma partição cujos valores são todos iguais não conta: nenhum limite novo a dividiria
+    private boolean isSkewed() {
+        long total = size.sum();
+        if (total < MIN_REBALANCE_SIZE) return false;
+        Shard[] shards = layout.shards;
+        long limit = total * Math.min(2 * SKEW_FACTOR, shards.length + 1) / (2L * shards.length);
+        for (Shard shard : shards) {
+            if (isSplittableAbove(shard, limit)) return true;
+        }
+        return false;
+    }
+
+    private static boolean isSplittableAbove(Shard shard, long limit) {
+        shard.lock.readLock().lock();
+        try {
+            int n = shard.tree.size();
+            return n > limit && shard.tree.select(0) != shard.tree.select(n - 1);
+        } finally {
+            shard.lock.readLock().unlock();
+        }
+    }
+
+    // Escolhe novos limites pelos quantis dos valores armazenados, para que cada partição fique com
+    // cerca de size()/N valores. Trava todas as partições, junta as árvores (já ordenadas entre si)
+    // e divide o resultado nos novos limites: O(N log n), sem copiar valores
+    public void rebalance() {
+        rebalance(false);
+    }
+
+    // Várias inserções podem detectar o desequilíbrio ao mesmo tempo e fazer fila em rebalanceLock:
+    // com "onlyIfSkewed" o teste é refeito lá dentro e quem chega depois de uma redistribuição
+    // desiste em vez de juntar e dividir as partições de novo
+    private void rebalance(boolean onlyIfSkewed) {
+        rebalanceLock.lock();
+        try {
+            if (onlyIfSkewed && !isSkewed()) return;
+            Layout old = layout;
+            for (Shard shard : old.shards) shard.lock.writeLock().lock();
+            try {
+                int n = 0;
+                for (Shard shard : old.shards) n += shard.tree.size();
+
+                int[] bounds = new int[partitions];
+                bounds[0] = Integer.MIN_VALUE;
+                int used = 1;
+                for (int i = 1; i < partitions && n > 0; i++) {
+                    int bound = select(old.shards, (int) ((long) n * i / partitions));
+                    // Com muitos valores repetidos dois quantis podem coincidir: as cópias do limite anterior
+                    // ficam sozinhas na partição dele e o próximo limite é o valor distinto seguinte
+                    if (bound == bounds[used - 1] && bound < Integer.MAX_VALUE) {
+                        int next = rank(old.shards, bound + 1);
+                        if (next < n) bound = select(old.shards, next);
+                    }
+                    if (bound > bounds[used - 1]) bounds[used++] = bound;
+                }
+                bounds = Arrays.copyOf(bounds, used);
+                if (Arrays.equals(bounds, old.bounds)) return; // os quantis não mudaram: nada a redistribuir
+
+                BinaryTreeBalanced all = new BinaryTreeBalanced();
+                for (Shard shard : old.shards) all.join(shard.tree);
+                Shard[] shards = new Shard[used];
+                for (int i = used - 1; i > 0; i--) shards[i] = new Shard(all.split(bounds[i]));
+                shards[0] = new Shard(all);
+                for (Shard shard : old.shards) shard.retired = true;
+                layout = new Layout(bounds, shards);
+                rebalances++;
+            } finally {
+                for (Shard shard : old.shards) shard.lock.writeLock().unlock();
+            }
+        } finally {
+            rebalanceLock.unlock();
+        }
+    }
+
+    // k-ésimo menor valor entre todas as partições, que estão em ordem (todas travadas)
+    private static int select(Shard[] shards, int k) {
+        int i = 0;
+        while (k >= shards[i].tree.size()) k -= shards[i++].tree.size();
+        return shards[i].tree.select(k);
+    }
+
+    // Quantidade de valores menores que a chave entre todas as partições (todas travadas)
+    private static int rank(Shard[] shards, int key) {
+        int rank = 0;
+        for (Shard shard : shards) rank += shard.tree.rank(key);
+        return rank;
+    }
+
+    // Exemplo: várias threads inserem chaves concentradas em [0, 1000000), que caem todas numa
+    // única faixa da divisão inicial; a redistribuição automática espalha as partições
+    public static void main(String[] args) throws InterruptedException {
+        int partitions = 8;
+        BinaryTreeSharded tree = new BinaryTreeSharded(partitions);
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        int perThread = 200000;
+        Thread[] writers = new Thread[threads];
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            final int id = t;
+            writers[t] = new Thread(() -> {
+                Random rand = new Random(id);
+                for (int i = 0; i < perThread; i++) tree.insert(rand.nextInt(1000000));
+                for (int i = 0; i < perThread / 4; i++) tree.remove(rand.nextInt(1000000));
+            });
+            writers[t].start();
+        }
+        for (Thread writer : writers) writer.join();
+        long millis = (System.nanoTime() - start) / 1000000;
+
+        System.out.println(threads + " escritores em " + millis + " ms; valores: " + tree.size()
+                + " | redistribuições automáticas: " + tree.getRebalanceCount());
+        System.out.println("Limites das partições: " + Arrays.toString(tree.bounds()));
+        System.out.println("Tamanho de cada partição: " + Arrays.toString(tree.shardSizes()));
+
+        // Percurso ordenado atravessando as partições
+        long[] state = {Long.MIN_VALUE, 0, 1}; // último valor, quantidade, ordem correta (1/0)
+        tree.forEach(value -> {
+            if (value < state[0]) state[2] = 0;
+            state[0] = value;
+            state[1]++;
+        });
+        System.out.println("Percurso em ordem: " + state[1] + " valores, ordenado? " + (state[2] == 1));
+
+        long[] sum = {0};
+        tree.forEachInRange(250000, 750000, value -> sum[0] += value);
+        System.out.println("Valores entre 250000 e 750000: " + tree.countInRange(250000, 750000) + " (soma " + sum[0] + ")");
+    }
+}
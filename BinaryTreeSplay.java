@@ -0,0 +1,238 @@
+import java.util.ArrayDeque;
+import java.util.Random;
+
+// Nó da árvore splay
+class NodeSplay {
+    int data; // valor armazenado no nó
+    NodeSplay left, right; // filhos esquerdo e direito
+
+    public NodeSplay(int data) {
+        this.data = data;
+    }
+}
+
+// Árvore splay (conjunto, sem repetidos): toda busca traz o nó acessado para a raiz com um
+// splay descendente e iterativo. Chaves pedidas com frequência ficam perto do topo, e um valor
+// próximo do último acessado é achado em poucos passos. Os contadores de acesso mostram se a
+// adaptação compensa para o fluxo de consultas
+public class BinaryTreeSplay {
+    private NodeSplay root;
+    private int size;
+    private final NodeSplay header = new NodeSplay(0); // ponta das árvores auxiliares do splay
+
+    // Estatísticas das buscas
+    private long lookups; // buscas feitas
+    private long hits; // buscas que acharam o valor
+    private long rootHits; // buscas cujo valor já estava na raiz
+    private long totalDepth; // soma das profundidades percorridas antes do splay
+    private int lastDepth; // profundidade percorrida pelo último splay
+
+    public int size() {
+        return size;
+    }
+
+    // Splay descendente: desce em direção a key montando à parte as árvores dos menores (l) e dos
+    // maiores (r), com rotação nos passos zig-zig. O último nó visitado vira a raiz
+    private NodeSplay splay(NodeSplay t, int key) {
+        header.left = header.right = null;
+        NodeSplay l = header, r = header;
+        int depth = 0;
+        while (true) {
+            if (key < t.data) {
+                if (t.left == null) break;
+                if (key < t.left.data) {
+                    NodeSplay y = t.left; // zig-zig: rotação à direita
+                    t.left = y.right;
+                    y.right = t;
+                    t = y;
+                    depth++;
+                    if (t.left == null) break;
+                }
+                r.left = t; // liga t à árvore dos maiores
+                r = t;
+                t = t.left;
+                depth++;
+            } else if (key > t.data) {
+                if (t.right == null) break;
+                if (key > t.right.data) {
+                    NodeSplay y = t.right; // zig-zig: rotação à esquerda
+                    t.right = y.left;
+                    y.left = t;
+                    t = y;
+                    depth++;
+                    if (t.right == null) break;
+                }
+                l.right = t; // liga t à árvore dos menores
+                l = t;
+                t = t.right;
+                depth++;
+            } else {
+                break;
+            }
+        }
+        // Remonta: as árvores auxiliares viram as subárvores da nova raiz
+        l.right = t.left;
+        r.left = t.right;
+        t.left = header.right;
+        t.right = header.left;
+        lastDepth = depth;
+        return t;
+    }
+
+    // Insere um valor; retorna false se ele já existia
+    public boolean insert(int value) {
+        if (root == null) {
+            root = new NodeSplay(value);
+            size++;
+            return true;
+        }
+        root = splay(root, value);
+        if (root.data == value) return false;
+        NodeSplay node = new NodeSplay(value);
+        if (value < root.data) {
+            node.left = root.left;
+            node.right = root;
+            root.left = null;
+        } else {
+            node.right = root.right;
+            node.left = root;
+            root.right = null;
+        }
+        root = node;
+        size++;
+        return true;
+    }
+
+    // Remove um valor; retorna false se ele não existia
+    public boolean remove(int value) {
+        if (root == null) return false;
+        root = splay(root, value);
+        if (root.data != value) return false;
+        if (root.left == null) {
+            root = root.right;
+        } else {
+            // O maior valor da esquerda sobe para a raiz e recebe a subárvore direita
+            NodeSplay right = root.right;
+            root = splay(root.left, value);
+            root.right = right;
+        }
+        size--;
+        return true;
+    }
+
+    // Verifica se um valor existe, trazendo-o (ou o vizinho onde a busca parou) para a raiz
+    public boolean search(int value) {
+        lookups++;
+        if (root == null) return false;
+        if (root.data == value) {
+            hits++;
+            rootHits++;
+            return true;
+        }
+        root = splay(root, value);
+        totalDepth += lastDepth;
+        if (root.data != value) return false;
+        hits++;
+        return true;
+    }
+
+    // Fração das buscas atendidas direto na raiz
+    public double rootHitRate() {
+        return lookups == 0 ? 0 : (double) rootHits / lookups;
+    }
+
+    // Fração das buscas que acharam o valor
+    public double hitRate() {
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    // Profundidade média percorrida por busca (0 para as que acertam a raiz)
+    public double averageDepth() {
+        return lookups == 0 ? 0 : (double) totalDepth / lookups;
+    }
+
+    // Zera as estatísticas das buscas
+    public void resetStats() {
+        lookups = hits = rootHits = totalDepth = 0;
+    }
+
+    // Impressão em ordem (esquerda, raiz, direita)
+    public void inorder() {
+        ArrayDeque<NodeSplay> stack = new ArrayDeque<>();
+        NodeSplay current = root;
+        while (current != null || !stack.isEmpty()) {
+            while (current != null) {
+                stack.push(current);
+                current = current.left;
+            }
+            current = stack.pop();
+            System.out.print(current.data + " ");
+            current = current.right;
+        }
+        System.out.println();
+    }
+
+    // Calcula a altura da árvore percorrendo nível a nível
+    public int getHeight() {
+        if (root == null) return -1;
+        ArrayDeque<NodeSplay> queue = new ArrayDeque<>();
+        queue.add(root);
+        int height = -1;
+        while (!queue.isEmpty()) {
+            for (int i = queue.size(); i > 0; i--) {
+                NodeSplay node = queue.poll();
+                if (node.left != null) queue.add(node.left);
+                if (node.right != null) queue.add(node.right);
+            }
+            height++;
+        }
+        return height;
+    }
+
+    // Compara a árvore splay com a BinaryTree num fluxo de buscas concentrado em poucas chaves
+    public static void main(String[] args) {
+        BinaryTreeSplay small = new BinaryTreeSplay();
+        for (int value : new int[] {50, 30, 70, 20, 40, 60, 80}) small.insert(value);
+        small.search(20);
+        System.out.println("Após buscar 20, a raiz passa a ser o 20. Em ordem:");
+        small.inorder();
+        small.remove(50);
+        System.out.println("Após remover 50:");
+        small.inorder();
+
+        int n = 1000000;
+        int lookups = 5000000;
+        Random rand = new Random(42);
+        BinaryTree tree = new BinaryTree();
+        BinaryTreeSplay splay = new BinaryTreeSplay();
+        int[] keys = new int[n];
+        for (int i = 0; i < n; i++) keys[i] = rand.nextInt();
+        for (int key : keys) {
+            tree.insert(key);
+            splay.insert(key);
+        }
+
+        // 90% das buscas vão para 16 chaves quentes; o resto é espalhado
+        int[] queries = new int[lookups];
+        for (int i = 0; i < lookups; i++) {
+            queries[i] = rand.nextInt(10) < 9 ? keys[rand.nextInt(16)] : keys[rand.nextInt(n)];
+        }
+
+        for (int round = 0; round < 3; round++) {
+            splay.resetStats();
+            long start = System.nanoTime();
+            int found = 0;
+            for (int query : queries) if (tree.search(query)) found++;
+            long treeNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int query : queries) if (splay.search(query)) found--;
+            long splayNanos = System.nanoTime() - start;
+
+            System.out.printf("Rodada %d: BinaryTree %.1f ns/busca | splay %.1f ns/busca (diferença de achados: %d)%n",
+                    round + 1, (double) treeNanos / lookups, (double) splayNanos / lookups, found);
+        }
+        System.out.printf("Acertos na raiz: %.1f%% | profundidade média: %.2f | altura atual: %d%n",
+                100 * splay.rootHitRate(), splay.averageDepth(), splay.getHeight());
+    }
+}
@@ -1,115 +1,268 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Scanner;
 
-class Node {
+// Classe que representa um nó da árvore (nome próprio para não colidir com o Node da BinaryTree)
+class NodeUserInput {
     int data;
-    Node left, right;
+    NodeUserInput left, right;
+    // Propriedades da subárvore, mantidas a cada alteração no caminho até a raiz
+    int height; // altura (0 para uma folha)
+    int oneChild; // nós com exatamente um filho
+    boolean perfect = true; // todos os níveis cheios
+    boolean complete = true; // níveis cheios, exceto o último, preenchido da esquerda para a direita
 
     // Construtor para o nó
-    public Node(int data) {
+    public NodeUserInput(int data) {
         this.data = data;
         this.left = null;
         this.right = null;
     }
+
+    // Recalcula as propriedades a partir das dos filhos (que precisam estar atualizadas)
+    void update() {
+        int leftHeight = left != null ? left.height : -1;
+        int rightHeight = right != null ? right.height : -1;
+        boolean leftPerfect = left == null || left.perfect;
+        boolean rightPerfect = right == null || right.perfect;
+        height = 1 + Math.max(leftHeight, rightHeight);
+        oneChild = (left != null ? left.oneChild : 0) + (right != null ? right.oneChild : 0)
+                + ((left == null) != (right == null) ? 1 : 0);
+        perfect = leftPerfect && rightPerfect && leftHeight == rightHeight;
+        // Completa: esquerda perfeita e direita completa da mesma altura, ou esquerda completa
+        // um nível mais alta que a direita perfeita
+        complete = leftHeight == rightHeight
+                ? leftPerfect && (right == null || right.complete)
+                : leftHeight == rightHeight + 1 && left.complete && rightPerfect;
+    }
 }
 
 public class BinaryTreeUserInput {
-    private Node root;
+    private NodeUserInput root;
+    private NodeUserInput[] path = new NodeUserInput[64]; // ancestrais do ponto alterado, reaproveitado entre operações
+
+    // Guarda o nó na posição "depth" do caminho, aumentando o vetor quando preciso
+    private void remember(int depth, NodeUserInput node) {
+        if (depth == path.length) path = Arrays.copyOf(path, depth * 2);
+        path[depth] = node;
+    }
+
+    // Atualiza as propriedades de path[count-1] até path[0], de baixo para cima. Quando a altura e
+    // as marcas de um nó não mudam, as dos ancestrais também não: dali para cima basta somar a
+    // diferença de nós com um filho, sem ler as subárvores irmãs
+    private void refreshPath(int count) {
+        for (int i = count - 1; i >= 0; i--) {
+            NodeUserInput node = path[i];
+            int height = node.height, oneChild = node.oneChild;
+            boolean perfect = node.perfect, complete = node.complete;
+            node.update();
+            if (height == node.height && perfect == node.perfect && complete == node.complete) {
+                int oneChildDelta = node.oneChild - oneChild;
+                for (int j = i - 1; j >= 0; j--) path[j].oneChild += oneChildDelta;
+                return;
+            }
+        }
+    }
 
     // Método de inserção
     public void insert(int value) {
-        root = insertRec(root, value);
+        NodeUserInput node = new NodeUserInput(value);
+        if (root == null) {
+            root = node;
+            return;
+        }
+        // Descida iterativa até a posição livre
+        NodeUserInput current = root;
+        int depth = 0;
+        while (true) {
+            remember(depth++, current);
+            if (value < current.data) {
+                if (current.left == null) {
+                    current.left = node;
+                    break;
+                }
+                current = current.left;
+            } else {
+                if (current.right == null) {
+                    current.right = node;
+                    break;
+                }
+                current = current.right;
+            }
+        }
+        refreshPath(depth);
     }
 
-    // Método recursivo de inserção
-    private Node insertRec(Node root, int value) {
-        if (root == null) return new Node(value);
-        if (value < root.data) root.left = insertRec(root.left, value);
-        else root.right = insertRec(root.right, value);
-        return root;
+    // Substitui o conteúdo por uma árvore balanceada com os "count" primeiros valores do vetor,
+    // que é ordenado no lugar só quando ainda não estiver em ordem
+    public void bulkLoad(int[] values, int count) {
+        for (int i = 1; i < count; i++) {
+            if (values[i - 1] > values[i]) {
+                Arrays.parallelSort(values, 0, count);
+                break;
+            }
+        }
+        root = build(values, 0, count);
     }
 
-    // Percurso em ordem
-    public void inorder() {
-        inorderRec(root);
-        System.out.println();
+    // Monta a subárvore com sorted[from..to). A raiz de cada faixa é a primeira cópia do valor do
+    // meio, assim os valores iguais ficam à direita como no insert. Muitas cópias iguais deixam as
+    // faixas desiguais, então só a parte menor vai para a recursão e a maior continua no laço,
+    // o que mantém a pilha em O(log n). Os nós do laço são atualizados no fim, de baixo para cima
+    private static NodeUserInput build(int[] sorted, int from, int to) {
+        NodeUserInput top = null, parent = null;
+        boolean left = false;
+        ArrayDeque<NodeUserInput> chain = new ArrayDeque<>();
+        while (from < to) {
+            int middle = firstCopy(sorted, from, (from + to) >>> 1);
+            NodeUserInput node = new NodeUserInput(sorted[middle]);
+            chain.push(node);
+            if (parent == null) top = node;
+            else if (left) parent.left = node;
+            else parent.right = node;
+            parent = node;
+            if (middle - from <= to - middle - 1) {
+                node.left = build(sorted, from, middle);
+                left = false;
+                from = middle + 1;
+            } else {
+                node.right = build(sorted, middle + 1, to);
+                left = true;
+                to = middle;
+            }
+        }
+        while (!chain.isEmpty()) chain.pop().update();
+        return top;
     }
 
-    // Método recursivo para o percurso em ordem
-    private void inorderRec(Node root) {
-        if (root != null) {
-            inorderRec(root.left);
-            System.out.print(root.data + " ");
-            inorderRec(root.right);
+    // Posição da primeira cópia de sorted[at] entre from e at (busca binária)
+    private static int firstCopy(int[] sorted, int from, int at) {
+        int value = sorted[at];
+        while (from < at) {
+            int middle = (from + at) >>> 1;
+            if (sorted[middle] < value) from = middle + 1;
+            else at = middle;
         }
+        return at;
     }
 
-    // Percurso pré-ordem
-    public void preorder() {
-        preorderRec(root);
+    // Percurso em ordem
+    public void inorder() {
+        ArrayDeque<NodeUserInput> stack = new ArrayDeque<>();
+        NodeUserInput current = root;
+        while (current != null || !stack.isEmpty()) {
+            while (current != null) {
+                stack.push(current);
+                current = current.left;
+            }
+            current = stack.pop();
+            System.out.print(current.data + " ");
+            current = current.right;
+        }
         System.out.println();
     }
 
-    // Método recursivo para o percurso pré-ordem
-    private void preorderRec(Node root) {
+    // Percurso pré-ordem
+    public void preorder() {
         if (root != null) {
-            System.out.print(root.data + " ");
-            preorderRec(root.left);
-            preorderRec(root.right);
+            ArrayDeque<NodeUserInput> stack = new ArrayDeque<>();
+            stack.push(root);
+            while (!stack.isEmpty()) {
+                NodeUserInput node = stack.pop();
+                System.out.print(node.data + " ");
+                if (node.right != null) stack.push(node.right);
+                if (node.left != null) stack.push(node.left);
+            }
         }
+        System.out.println();
     }
 
     // Percurso pós-ordem
     public void postorder() {
-        postorderRec(root);
-        System.out.println();
-    }
-
-    // Método recursivo para o percurso pós-ordem
-    private void postorderRec(Node root) {
-        if (root != null) {
-            postorderRec(root.left);
-            postorderRec(root.right);
-            System.out.print(root.data + " ");
+        ArrayDeque<NodeUserInput> stack = new ArrayDeque<>();
+        NodeUserInput current = root;
+        NodeUserInput lastVisited = null;
+        while (current != null || !stack.isEmpty()) {
+            while (current != null) {
+                stack.push(current);
+                current = current.left;
+            }
+            NodeUserInput top = stack.peek();
+            if (top.right != null && top.right != lastVisited) {
+                current = top.right;
+            } else {
+                System.out.print(top.data + " ");
+                lastVisited = stack.pop();
+            }
         }
+        System.out.println();
     }
 
-    // Método para calcular a altura da árvore
+    // Método para calcular a altura da árvore, mantida pelos nós: O(1)
     public int height() {
-        return heightRec(root);
+        return root == null ? -1 : root.height;
     }
 
-    private int heightRec(Node node) {
-        if (node == null) return -1;
-        return 1 + Math.max(heightRec(node.left), heightRec(node.right));
+    // Altura por percurso nível a nível, usada só para conferir a mantida pelos nós
+    private int heightWalk() {
+        if (root == null) return -1;
+        ArrayDeque<NodeUserInput> queue = new ArrayDeque<>();
+        queue.add(root);
+        int height = -1;
+        while (!queue.isEmpty()) {
+            for (int i = queue.size(); i > 0; i--) {
+                NodeUserInput node = queue.poll();
+                if (node.left != null) queue.add(node.left);
+                if (node.right != null) queue.add(node.right);
+            }
+            height++;
+        }
+        return height;
     }
 
     // Método para obter o nível de um nó
     public int getLevel(int value) {
-        return getLevelRec(root, value, 0);
-    }
-
-    private int getLevelRec(Node node, int value, int level) {
-        if (node == null) return -1;
-        if (node.data == value) return level;
-        int downlevel = getLevelRec(node.left, value, level + 1);
-        if (downlevel != -1) return downlevel;
-        return getLevelRec(node.right, value, level + 1);
+        long found = lookup(value);
+        return found < 0 ? -1 : (int) (found >>> 2);
     }
 
     // Método para obter o grau de um nó
     public int getDegree(int value) {
-        Node node = findNode(root, value);
-        if (node == null) return -1;
-        int degree = 0;
-        if (node.left != null) degree++;
-        if (node.right != null) degree++;
-        return degree;
+        long found = lookup(value);
+        return found < 0 ? -1 : (int) (found & 3);
     }
 
-    private Node findNode(Node root, int value) {
-        if (root == null || root.data == value) return root;
-        if (value < root.data) return findNode(root.left, value);
-        return findNode(root.right, value);
+    // Desce uma única vez pela ordenação (O(h)) e devolve nível e grau do nó encontrado
+    // empacotados num long: o nível nos bits altos e o grau nos 2 bits baixos (-1 se não existir)
+    private long lookup(int value) {
+        NodeUserInput node = root;
+        long level = 0;
+        while (node != null) {
+            if (node.data == value) {
+                int degree = (node.left != null ? 1 : 0) + (node.right != null ? 1 : 0);
+                return level << 2 | degree;
+            }
+            node = value < node.data ? node.left : node.right;
+            level++;
+        }
+        return -1;
+    }
+
+    private NodeUserInput findNode(NodeUserInput root, int value) {
+        NodeUserInput node = root;
+        while (node != null && node.data != value) {
+            node = value < node.data ? node.left : node.right;
+        }
+        return node;
     }
 
     // Método para buscar um nó
@@ -117,70 +270,251 @@ public class BinaryTreeUserInput {
         return findNode(root, value) != null;
     }
 
-    // Método para verificar se a árvore é estritamente binária
-    public boolean isStrictlyBinary(Node node) {
-        if (node == null) return true;
-        if (node.left == null && node.right == null) return true;
-        if (node.left != null && node.right != null)
-            return isStrictlyBinary(node.left) && isStrictlyBinary(node.right);
-        return false;
+    // Método para verificar se a subárvore é estritamente binária: nenhum nó com um filho só (O(1))
+    public boolean isStrictlyBinary(NodeUserInput node) {
+        return node == null || node.oneChild == 0;
     }
 
-    // Método para verificar se a árvore é completa
-    public boolean isComplete() {
-        return isCompleteRec(root, 0, countNodes(root));
+    // Estritamente binária por percurso, usada só para conferir a propriedade mantida
+    private static boolean isStrictlyBinaryWalk(NodeUserInput node) {
+        if (node == null) return true;
+        ArrayDeque<NodeUserInput> stack = new ArrayDeque<>();
+        stack.push(node);
+        while (!stack.isEmpty()) {
+            NodeUserInput current = stack.pop();
+            if ((current.left == null) != (current.right == null)) return false;
+            if (current.left != null) {
+                stack.push(current.left);
+                stack.push(current.right);
+            }
+        }
+        return true;
     }
 
-    private boolean isCompleteRec(Node node, int index, int numberNodes) {
-        if (node == null) return true;
-        if (index >= numberNodes) return false;
-        return isCompleteRec(node.left, 2 * index + 1, numberNodes) &&
-               isCompleteRec(node.right, 2 * index + 2, numberNodes);
+    // Método para verificar se a árvore é completa, pela propriedade mantida na raiz (O(1))
+    public boolean isComplete() {
+        return root == null || root.complete;
     }
 
-    private int countNodes(Node node) {
-        if (node == null) return 0;
-        return 1 + countNodes(node.left) + countNodes(node.right);
+    // Completude por percurso, usada só para conferir a propriedade mantida
+    private boolean isCompleteWalk() {
+        if (root == null) return true;
+        ArrayDeque<NodeUserInput> queue = new ArrayDeque<>();
+        queue.add(root);
+        boolean gapSeen = false;
+        while (!queue.isEmpty()) {
+            NodeUserInput node = queue.poll();
+            if (node.left == null) gapSeen = true;
+            else if (gapSeen) return false;
+            else queue.add(node.left);
+            if (node.right == null) gapSeen = true;
+            else if (gapSeen) return false;
+            else queue.add(node.right);
+        }
+        return true;
     }
 
     // Método para verificar se a árvore é cheia
-    public boolean isFull(Node node) {
-        if (node == null) return true;
-        if (node.left == null && node.right == null) return true;
-        if (node.left != null && node.right != null)
-            return isFull(node.left) && isFull(node.right);
-        return false;
+    public boolean isFull(NodeUserInput node) {
+        return isStrictlyBinary(node);
     }
 
     // Método para remover um nó
     public void remove(int value) {
-        root = removeRec(root, value);
+        NodeUserInput current = root;
+        int depth = 0;
+        while (current != null && current.data != value) {
+            remember(depth++, current);
+            current = value < current.data ? current.left : current.right;
+        }
+        if (current == null) return;
+        if (current.left != null && current.right != null) {
+            // Dois filhos: copia o sucessor e remove o nó do sucessor
+            remember(depth++, current);
+            NodeUserInput successor = current.right;
+            while (successor.left != null) {
+                remember(depth++, successor);
+                successor = successor.left;
+            }
+            current.data = successor.data;
+            current = successor;
+        }
+        NodeUserInput parent = depth > 0 ? path[depth - 1] : null;
+        NodeUserInput child = current.left != null ? current.left : current.right;
+        if (parent == null) root = child;
+        else if (parent.left == current) parent.left = child;
+        else parent.right = child;
+        refreshPath(depth);
+    }
+
+    // Confere as propriedades mantidas incrementalmente: cada nó é recalculado a partir dos filhos
+    // (em pós-ordem) e as respostas O(1) são comparadas com os percursos completos.
+    // Lança IllegalStateException na primeira divergência
+    public void verifyStructure() {
+        ArrayDeque<NodeUserInput> stack = new ArrayDeque<>();
+        NodeUserInput current = root;
+        NodeUserInput lastVisited = null;
+        while (current != null || !stack.isEmpty()) {
+            while (current != null) {
+                stack.push(current);
+                current = current.left;
+            }
+            NodeUserInput top = stack.peek();
+            if (top.right != null && top.right != lastVisited) {
+                current = top.right;
+                continue;
+            }
+            int height = top.height, oneChild = top.oneChild;
+            boolean perfect = top.perfect, complete = top.complete;
+            top.update();
+            if (height != top.height || oneChild != top.oneChild || perfect != top.perfect || complete != top.complete) {
+                throw new IllegalStateException("Propriedades desatualizadas no nó " + top.data);
+            }
+            lastVisited = stack.pop();
+        }
+        if (height() != heightWalk()) throw new IllegalStateException("Altura divergente");
+        if (isStrictlyBinary(root) != isStrictlyBinaryWalk(root)) throw new IllegalStateException("Estritamente binária divergente");
+        if (isComplete() != isCompleteWalk()) throw new IllegalStateException("Completude divergente");
+    }
+
+    // ---------- Leitura rápida ----------
+    private static final int READ_BUFFER = 1 << 20;
+    private static final long MAP_WINDOW = 1L << 30; // janela do mapeamento (múltiplo de 4 para o modo binário)
+
+    // Números lidos da entrada. Em texto, os bytes viram int direto, sem criar Strings nem usar
+    // expressões regulares, e o estado do número em andamento atravessa os limites dos blocos.
+    // Em binário, cada 4 bytes são um int em little-endian
+    private static final class IntInput {
+        int[] values = new int[1 << 16];
+        int count;
+        long bytes; // bytes lidos
+        private long current; // dígitos do número em andamento
+        private boolean negative, inNumber;
+
+        // Números separados por espaços, quebras de linha, vírgulas ou ponto e vírgula
+        void parseText(ByteBuffer buffer) {
+            int end = buffer.limit();
+            for (int i = buffer.position(); i < end; i++) {
+                byte c = buffer.get(i);
+                if (c >= '0' && c <= '9') {
+                    current = current * 10 + (c - '0');
+                    if (current > 2147483648L) throw new NumberFormatException("Número fora do intervalo de int");
+                    inNumber = true;
+                } else if (c >= 0 && c <= ' ' || c == ',' || c == ';') { // bytes de 0x80 em diante são negativos e caem no erro
+                    endNumber();
+                } else if (c == '-' && !negative && !inNumber) {
+                    negative = true;
+                } else {
+                    throw new NumberFormatException(c >= 0 ? "Caractere inesperado na entrada: '" + (char) c + "'"
+                            : String.format("Byte não ASCII inesperado na entrada: 0x%02X", c & 0xFF));
+                }
+            }
+            bytes += end - buffer.position();
+            buffer.position(end);
+        }
+
+        private void endNumber() {
+            if (!inNumber) {
+                if (negative) throw new NumberFormatException("Sinal sem número na entrada");
+                return;
+            }
+            long value = negative ? -current : current;
+            if (value > Integer.MAX_VALUE) throw new NumberFormatException("Número fora do intervalo de int");
+            if (count == values.length) grow(1);
+            values[count++] = (int) value;
+            current = 0;
+            negative = inNumber = false;
+        }
+
+        // Consome os ints inteiros do buffer; um resto de menos de 4 bytes fica para o próximo bloco
+        void parseBinary(ByteBuffer buffer) {
+            int n = buffer.remaining() >>> 2;
+            if (count + n > values.length) grow(n);
+            buffer.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(values, count, n);
+            count += n;
+            bytes += 4L * n;
+            buffer.position(buffer.position() + 4 * n);
+        }
+
+        private void grow(int needed) {
+            long capacity = Math.max((long) count + needed, 2L * values.length);
+            if (count + (long) needed > Integer.MAX_VALUE - 8) throw new IllegalStateException("Entrada excede o limite de um vetor de int");
+            values = Arrays.copyOf(values, (int) Math.min(capacity, Integer.MAX_VALUE - 8));
+        }
+
+        // Fecha o número que terminou junto com a entrada
+        void finish(boolean binary, long leftover) throws IOException {
+            if (binary && leftover != 0) throw new IOException("Entrada binária com tamanho que não é múltiplo de 4 bytes");
+            if (!binary) endNumber();
+        }
     }
 
-    private Node removeRec(Node root, int key) {
-        if (root == null) return root;
-        if (key < root.data) root.left = removeRec(root.left, key);
-        else if (key > root.data) root.right = removeRec(root.right, key);
-        else {
-            if (root.left == null) return root.right;
-            else if (root.right == null) return root.left;
-            root.data = minValue(root.right);
-            root.right = removeRec(root.right, root.data);
+    // Lê os números de um arquivo mapeado em memória, em janelas de até 1 GB
+    private static IntInput readFile(Path file, boolean binary) throws IOException {
+        IntInput input = new IntInput();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (binary) input.values = new int[(int) Math.min(size >>> 2, Integer.MAX_VALUE - 8)];
+            for (long position = 0; position < size; position += MAP_WINDOW) {
+                ByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAP_WINDOW, size - position));
+                if (binary) input.parseBinary(window);
+                else input.parseText(window);
+                if (position + MAP_WINDOW >= size) input.finish(binary, window.remaining());
+            }
+            if (size == 0) input.finish(binary, 0);
         }
-        return root;
+        return input;
     }
 
-    private int minValue(Node root) {
-        int minv = root.data;
-        while (root.left != null) {
-            minv = root.left.data;
-            root = root.left;
+    // Lê os números de um canal qualquer (a entrada padrão, por exemplo) em blocos de 1 MB
+    private static IntInput readChannel(ReadableByteChannel channel, boolean binary) throws IOException {
+        IntInput input = new IntInput();
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER);
+        while (channel.read(buffer) >= 0) {
+            buffer.flip();
+            if (binary) input.parseBinary(buffer);
+            else input.parseText(buffer);
+            buffer.compact();
         }
-        return minv;
+        input.finish(binary, buffer.position());
+        return input;
     }
 
-    // Método principal
-    public static void main(String[] args) {
+    // Modo de carga em massa: java BinaryTreeUserInput [--binary] arquivo|-
+    // Lê todos os números (de um arquivo ou, com "-", da entrada padrão) e monta a árvore de uma vez
+    private static void load(String[] args) throws IOException {
+        boolean binary = args[0].equals("--binary");
+        if (binary && args.length < 2) {
+            System.out.println("Uso: java BinaryTreeUserInput [--binary] arquivo|-");
+            return;
+        }
+        String source = args[binary ? 1 : 0];
+
+        long start = System.nanoTime();
+        IntInput input = source.equals("-")
+                ? readChannel(Channels.newChannel(System.in), binary)
+                : readFile(Paths.get(source), binary);
+        long readNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        BinaryTreeUserInput tree = new BinaryTreeUserInput();
+        tree.bulkLoad(input.values, input.count);
+        long buildNanos = System.nanoTime() - start;
+
+        System.out.printf("Lidos %d números (%.1f MB) em %d ms (%.0f MB/s)%n", input.count, input.bytes / 1e6,
+                readNanos / 1000000, input.bytes / 1e6 / Math.max(readNanos, 1) * 1e9);
+        System.out.println("Árvore montada em " + buildNanos / 1000000 + " ms");
+        System.out.println("Altura da árvore: " + tree.height());
+        System.out.println("A árvore é completa? " + tree.isComplete());
+        tree.verifyStructure(); // lança exceção se alguma propriedade mantida estiver errada
+    }
+
+    // Método principal: com argumentos carrega os números em massa; sem eles usa o menu interativo
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0) {
+            load(args);
+            return;
+        }
         BinaryTreeUserInput tree = new BinaryTreeUserInput();
         Scanner scanner = new Scanner(System.in);
 
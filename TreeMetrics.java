@@ -0,0 +1,184 @@
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// Métricas de uma árvore: contagem, latência, comparações e profundidade por operação.
+// A árvore só cria uma instância quando as métricas são ativadas; desativadas, o custo no
+// caminho quente é um teste de null. Os contadores aceitam várias threads sem travas
+public final class TreeMetrics {
+    // Operações medidas
+    public enum Operation { INSERT, SEARCH, REMOVE }
+
+    // Faixas dos histogramas: a faixa i guarda valores em [2^(i-1), 2^i), e a faixa 0 guarda o zero
+    private static final int BUCKETS = 64;
+    // Tipo do evento do JFR, consultado antes de cada operação para não criar eventos sem gravação ativa
+    private static final EventType EVENT_TYPE = EventType.getEventType(TreeOperationEvent.class);
+
+    private final String tree; // nome da árvore, repetido nos eventos do JFR
+    private final LongAdder[] counts = new LongAdder[Operation.values().length];
+    private final LongAdder[] hits = new LongAdder[Operation.values().length];
+    private final LongAdder[] nanos = new LongAdder[Operation.values().length];
+    private final LongAdder[] comparisons = new LongAdder[Operation.values().length];
+    private final AtomicLongArray[] latency = new AtomicLongArray[Operation.values().length];
+    private final AtomicLongArray depths = new AtomicLongArray(BUCKETS); // profundidade exata até 63
+    private final LongAdder allocations = new LongAdder(); // nós criados
+    private final long since = System.nanoTime();
+
+    public TreeMetrics(String tree) {
+        this.tree = tree;
+        for (Operation op : Operation.values()) {
+            counts[op.ordinal()] = new LongAdder();
+            hits[op.ordinal()] = new LongAdder();
+            nanos[op.ordinal()] = new LongAdder();
+            comparisons[op.ordinal()] = new LongAdder();
+            latency[op.ordinal()] = new AtomicLongArray(BUCKETS);
+        }
+    }
+
+    // Chamado no início de uma operação medida: devolve o evento do JFR já iniciado, ou null
+    // quando nenhuma gravação o habilita (o caso comum, sem alocação)
+    TreeOperationEvent beginEvent() {
+        if (!EVENT_TYPE.isEnabled()) return null;
+        TreeOperationEvent event = new TreeOperationEvent();
+        event.begin();
+        return event;
+    }
+
+    // Registra uma operação iniciada em "start" (System.nanoTime()), com o evento devolvido por
+    // beginEvent(). "compared" é a quantidade de nós comparados na descida e "depth" a
+    // profundidade do nó encontrado, inserido ou removido
+    void record(Operation op, long start, TreeOperationEvent event, int key, int compared, int depth, boolean hit) {
+        long elapsed = System.nanoTime() - start;
+        if (event != null) event.end(); // a duração do evento termina junto com a operação
+        int i = op.ordinal();
+        counts[i].increment();
+        if (hit) hits[i].increment();
+        nanos[i].add(elapsed);
+        comparisons[i].add(compared);
+        latency[i].incrementAndGet(bucket(elapsed));
+        if (hit) depths.incrementAndGet(Math.min(depth, BUCKETS - 1));
+        if (op == Operation.INSERT) allocations.increment();
+
+        if (event != null && event.shouldCommit()) {
+            event.tree = tree;
+            event.operation = op.name();
+            event.key = key;
+            event.comparisons = compared;
+            event.depth = depth;
+            event.hit = hit;
+            event.latency = elapsed;
+            event.commit();
+        }
+    }
+
+    // Registra nós criados fora de insert() (cargas e lotes)
+    public void recordAllocations(long nodes) {
+        allocations.add(nodes);
+    }
+
+    private static int bucket(long value) {
+        return value <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(value);
+    }
+
+    public long count(Operation op) {
+        return counts[op.ordinal()].sum();
+    }
+
+    public long allocations() {
+        return allocations.sum();
+    }
+
+    // Operações por segundo desde a criação das métricas
+    public double throughput(Operation op) {
+        return count(op) * 1e9 / Math.max(1, System.nanoTime() - since);
+    }
+
+    public double averageComparisons(Operation op) {
+        long count = count(op);
+        return count == 0 ? 0 : (double) comparisons[op.ordinal()].sum() / count;
+    }
+
+    public double averageLatency(Operation op) {
+        long count = count(op);
+        return count == 0 ? 0 : (double) nanos[op.ordinal()].sum() / count;
+    }
+
+    // Limite superior (em ns) da faixa que contém o percentil p (entre 0 e 100) das latências
+    public long latencyPercentile(Operation op, double p) {
+        AtomicLongArray histogram = latency[op.ordinal()];
+        long total = 0;
+        for (int b = 0; b < BUCKETS; b++) total += histogram.get(b);
+        if (total == 0) return 0;
+        long target = (long) Math.ceil(total * p / 100.0);
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += histogram.get(b);
+            if (seen >= Math.max(1, target)) return b == 0 ? 0 : b >= 63 ? Long.MAX_VALUE : (1L << b) - 1;
+        }
+        return Long.MAX_VALUE;
+    }
+
+    // Quantidade de nós encontrados, inseridos ou removidos em cada profundidade
+    public long[] depthDistribution() {
+        int last = BUCKETS - 1;
+        while (last > 0 && depths.get(last) == 0) last--;
+        long[] distribution = new long[last + 1];
+        for (int d = 0; d <= last; d++) distribution[d] = depths.get(d);
+        return distribution;
+    }
+
+    public double averageDepth() {
+        long total = 0, weighted = 0;
+        for (int d = 0; d < BUCKETS; d++) {
+            long n = depths.get(d);
+            total += n;
+            weighted += n * d;
+        }
+        return total == 0 ? 0 : (double) weighted / total;
+    }
+
+    // Resumo legível das métricas
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder("Métricas de " + tree + " (nós criados: " + allocations() + ")\n");
+        for (Operation op : Operation.values()) {
+            long count = count(op);
+            if (count == 0) continue;
+            out.append(String.format("  %-6s %10d ops %12.0f ops/s  acertos %10d  comparações/op %6.2f  média %.0f ns  p50 <= %d ns  p99 <= %d ns  p99.9 <= %d ns%n",
+                    op, count, throughput(op), hits[op.ordinal()].sum(), averageComparisons(op),
+                    averageLatency(op), latencyPercentile(op, 50), latencyPercentile(op, 99), latencyPercentile(op, 99.9)));
+        }
+        out.append(String.format("  profundidade média %.2f, distribuição %s", averageDepth(),
+                Arrays.toString(depthDistribution())));
+        return out.toString();
+    }
+
+    // Evento do JFR emitido a cada operação medida, só quando uma gravação o habilita
+    // (por exemplo: java -XX:StartFlightRecording:filename=arvore.jfr,settings=profile ...)
+    @Name("arvore.TreeOperation")
+    @Label("Operação na árvore")
+    @Category("Árvore binária")
+    @Description("Uma inserção, busca ou remoção medida pelas métricas da árvore")
+    static final class TreeOperationEvent extends Event {
+        @Label("Árvore")
+        String tree;
+        @Label("Operação")
+        String operation;
+        @Label("Chave")
+        int key;
+        @Label("Comparações")
+        int comparisons;
+        @Label("Profundidade")
+        int depth;
+        @Label("Encontrado")
+        boolean hit;
+        @Label("Latência (ns)")
+        long latency;
+    }
+}